@@ -0,0 +1,48 @@
+package benchmarks;
+
+import manager.TaskManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+//заполнение менеджера доской заданного размера: задачи, эпики и подзадачи в непересекающихся слотах
+final class Boards {
+    static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    static final Duration SLOT = Duration.ofMinutes(30);
+    static final int SUBTASKS_PER_EPIC = 10;
+
+    private Boards() {
+    }
+
+    static void fill(TaskManager manager, int size) {
+        int slot = 0;
+        int epicId = 0;
+        for (int i = 0; i < size; i++) {
+            LocalDateTime startTime = slotStart(slot++);
+            if (i % 2 == 0) {
+                manager.addNewTask(new Task("Задача " + i, "Описание", status(i), startTime, SLOT));
+            } else if (i % (2 * SUBTASKS_PER_EPIC) == 1) {
+                epicId = manager.addNewEpic(new Epic("Эпик " + i, "Описание", Status.NEW, null, Duration.ZERO));
+            } else {
+                manager.addNewSubtask(new Subtask("Подзадача " + i, "Описание", status(i), epicId, startTime, SLOT));
+            }
+        }
+    }
+
+    //слот, который гарантированно свободен на доске из size элементов
+    static LocalDateTime freeSlot(int size) {
+        return slotStart(size + 1);
+    }
+
+    static LocalDateTime slotStart(int slot) {
+        return START.plus(SLOT.multipliedBy(slot));
+    }
+
+    private static Status status(int i) {
+        return Status.values()[i % Status.values().length];
+    }
+}
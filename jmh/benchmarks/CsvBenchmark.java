@@ -0,0 +1,117 @@
+package benchmarks;
+
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import model.TaskCsv;
+import model.TaskType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+//чтение и запись файла на 1M строк через TaskCsv; splitLoad - прежний разбор через split и LocalDateTime.parse
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CsvBenchmark {
+    @Param({"1000000"})
+    public int rows;
+
+    private Task[] tasks;
+    private Path file;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = new Task[rows];
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            int id = i + 1;
+            tasks[i] = switch (i % 10) {
+                case 0 -> {
+                    Epic epic = new Epic("Эпик " + id, "Описание, с запятой", Status.NEW, null, Duration.ZERO);
+                    epic.setId(id);
+                    epic.setType(TaskType.EPIC);
+                    yield epic;
+                }
+                case 1, 2, 3 -> new Subtask(id, "Подзадача " + id, Status.IN_PROGRESS, "Описание",
+                        id - i % 10, start.plusMinutes(30L * i), Duration.ofMinutes(15));
+                default -> new Task(id, "Задача " + id, Status.DONE, "Описание",
+                        TaskType.TASK, start.plusMinutes(30L * i), Duration.ofMinutes(15));
+            };
+        }
+        file = Files.createTempFile("kanban-csv", ".csv");
+        output = Files.createTempFile("kanban-csv-out", ".csv");
+        save(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public void load(Blackhole blackhole) throws IOException {
+        TaskCsv.Reader reader = new TaskCsv.Reader(Files.readString(file, StandardCharsets.UTF_8));
+        reader.nextRecord();
+        while (reader.hasNext()) {
+            blackhole.consume(reader.next());
+        }
+    }
+
+    @Benchmark
+    public void splitLoad(Blackhole blackhole) throws IOException {
+        String[] lines = Files.readString(file, StandardCharsets.UTF_8).split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",", -1);
+            blackhole.consume(Integer.parseInt(fields[0]));
+            blackhole.consume(TaskType.valueOf(fields[1]));
+            blackhole.consume(Status.valueOf(fields[3]));
+            blackhole.consume(fields[6].isBlank() ? null : LocalDateTime.parse(fields[6]));
+        }
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        save(output);
+    }
+
+    private void save(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(TaskCsv.HEADER);
+            writer.write('\n');
+            StringBuilder row = new StringBuilder(128);
+            for (Task task : tasks) {
+                row.setLength(0);
+                TaskCsv.append(row, task);
+                row.append('\n');
+                writer.append(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import history.HistoryManager;
+import manager.Managers;
+import model.Status;
+import model.Task;
+import model.TaskSnapshot;
+import model.TaskType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//просмотры задач: повторный просмотр переносит задачу в конец истории
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryManagerBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int boardSize;
+
+    private HistoryManager historyManager;
+    private Task[] tasks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        historyManager = Managers.getDefaultHistory();
+        tasks = new Task[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            tasks[i] = new Task(i + 1, "Задача " + i, Status.NEW, "Описание", TaskType.TASK, null, Duration.ZERO);
+            historyManager.add(tasks[i]);
+        }
+    }
+
+    @Benchmark
+    public Task add() {
+        Task task = tasks[next];
+        next = next + 1 == tasks.length ? 0 : next + 1;
+        historyManager.add(task);
+        return task;
+    }
+
+    @Benchmark
+    public List<TaskSnapshot> getHistory() {
+        return historyManager.getHistory();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import manager.InMemoryTaskManager;
+import model.Status;
+import model.Task;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import server.adapters.DurationAdapter;
+import server.adapters.LocalDateTimeAdapter;
+import server.adapters.StatusAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//сериализация списка задач в компактный и форматированный JSON, как в BaseHttpHandler;
+//payloadBytes - размер ответа в UTF-8
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int boardSize;
+
+    private Gson compactGson;
+    private Gson prettyGson;
+    private List<Task> tasks;
+    //ответ при неизменном списке всегда один и тот же, поэтому размер считается один раз, вне замера
+    private long compactBytes;
+    private long prettyBytes;
+
+    @Setup
+    public void setUp() {
+        compactGson = gsonBuilder().create();
+        prettyGson = gsonBuilder().setPrettyPrinting().create();
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        Boards.fill(manager, boardSize);
+        tasks = List.copyOf(manager.getTasks().values());
+        compactBytes = compactGson.toJson(tasks).getBytes(StandardCharsets.UTF_8).length;
+        prettyBytes = prettyGson.toJson(tasks).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public String compact(PayloadSize size) {
+        size.payloadBytes = compactBytes;
+        return compactGson.toJson(tasks);
+    }
+
+    @Benchmark
+    public String pretty(PayloadSize size) {
+        size.payloadBytes = prettyBytes;
+        return prettyGson.toJson(tasks);
+    }
+
+    private static GsonBuilder gsonBuilder() {
+        return new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapter(Status.class, new StatusAdapter());
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import model.Status;
+import model.Task;
+import model.TaskType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.IntHashMap;
+import util.IntMap;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+//поиск задачи по id: плотный массив и открытая адресация против мап с упакованными ключами
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private final IntMap<Task> intMap = new IntMap<>();
+    private final IntHashMap<Task> intHashMap = new IntHashMap<>();
+    private final Map<Integer, Task> hashMap = new HashMap<>();
+    private final Map<Integer, Task> treeMap = new TreeMap<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int id = 1; id <= size; id++) {
+            Task task = new Task(id, "Задача", Status.NEW, "Описание", TaskType.TASK, null, Duration.ZERO);
+            intMap.put(id, task);
+            intHashMap.put(id, task);
+            hashMap.put(id, task);
+            treeMap.put(id, task);
+        }
+    }
+
+    //ключи перебираются с шагом, чтобы обращения не шли подряд по памяти
+    private int nextId() {
+        next = (next + 7919) % size;
+        return next + 1;
+    }
+
+    @Benchmark
+    public Task intMap() {
+        return intMap.get(nextId());
+    }
+
+    @Benchmark
+    public Task intHashMap() {
+        return intHashMap.get(nextId());
+    }
+
+    @Benchmark
+    public Task hashMap() {
+        return hashMap.get(nextId());
+    }
+
+    @Benchmark
+    public Task treeMap() {
+        return treeMap.get(nextId());
+    }
+}
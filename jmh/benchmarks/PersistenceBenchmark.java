@@ -0,0 +1,121 @@
+package benchmarks;
+
+import manager.FileBackedTaskManager;
+import manager.FsyncPolicy;
+import manager.Managers;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//сохранение и загрузка файла менеджера, разбор строк CSV
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int BURST = 1_000;
+
+    @Param({"100", "1000", "10000"})
+    public int boardSize;
+
+    private Path snapshotFile;
+    private Path journalFile;
+    private Path groupFile;
+    private FileBackedTaskManager snapshotManager;
+    private FileBackedTaskManager journalManager;
+    private FileBackedTaskManager groupManager;
+    private Task existing;
+    private List<String> lines;
+
+    @Setup
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempFile("kanban-bench", ".csv");
+        journalFile = Files.createTempFile("kanban-bench-journal", ".csv");
+        snapshotManager = Managers.getDefaultSaving(snapshotFile);
+        Boards.fill(snapshotManager, boardSize);
+        journalManager = Managers.getDefaultSaving(journalFile, FsyncPolicy.NEVER);
+        Boards.fill(journalManager, boardSize);
+        groupFile = Files.createTempFile("kanban-bench-group", ".csv");
+        groupManager = Managers.getDefaultSaving(groupFile);
+        groupManager.enableGroupCommit(Duration.ofMillis(50), 0);
+        Boards.fill(groupManager, boardSize);
+        existing = snapshotManager.getTasks().values().iterator().next();
+        List<String> rows = Files.readAllLines(snapshotFile, StandardCharsets.UTF_8);
+        lines = rows.subList(1, rows.size());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journalManager.close();
+        groupManager.close();
+        Files.deleteIfExists(groupFile);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(journalFile.resolveSibling(journalFile.getFileName() + ".journal"));
+    }
+
+    //в режиме без журнала любое изменение перезаписывает файл целиком
+    @Benchmark
+    public Task saveSnapshot() {
+        snapshotManager.updateTask(existing);
+        return existing;
+    }
+
+    @Benchmark
+    public Task appendJournal() {
+        journalManager.updateTask(existing);
+        return existing;
+    }
+
+    //серия из BURST изменений: синхронный save() на каждое против групповой записи с ожиданием сброса
+    @Benchmark
+    public Task burstSnapshot() {
+        for (int i = 0; i < BURST; i++) {
+            snapshotManager.updateTask(existing);
+        }
+        return existing;
+    }
+
+    @Benchmark
+    public Task burstGroupCommit() {
+        Task task = groupManager.getTasks().values().iterator().next();
+        for (int i = 0; i < BURST; i++) {
+            groupManager.updateTask(task);
+        }
+        groupManager.flush().join();
+        return task;
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFile() {
+        return FileBackedTaskManager.loadFromFile(snapshotFile.toFile());
+    }
+
+    @Benchmark
+    public void fromString(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(Task.fromString(line));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import manager.FileBackedTaskManager;
+import manager.FsyncPolicy;
+import manager.Managers;
+import manager.SnapshotFormat;
+import model.Task;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//сохранение и загрузка снимка в CSV и двоичном формате; fileBytes - размер файла
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SnapshotFormatBenchmark {
+    @Param({"10000", "100000"})
+    public int boardSize;
+
+    @Param({"CSV", "BINARY"})
+    public SnapshotFormat format;
+
+    private Path file;
+    private FileBackedTaskManager manager;
+    private Task existing;
+
+    //доска заполняется в режиме журнала, чтобы не переписывать файл на каждой вставке
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("kanban-snapshot", ".dat");
+        try (FileBackedTaskManager filling = Managers.getDefaultSaving(file, FsyncPolicy.NEVER, format)) {
+            Boards.fill(filling, boardSize);
+        }
+        manager = FileBackedTaskManager.loadFromFile(file.toFile());
+        existing = manager.getTasks().values().iterator().next();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class FileSize {
+        public long fileBytes;
+    }
+
+    @Benchmark
+    public Task save(FileSize size) throws IOException {
+        manager.updateTask(existing);
+        size.fileBytes = Files.size(file);
+        return existing;
+    }
+
+    @Benchmark
+    public FileBackedTaskManager load() {
+        return FileBackedTaskManager.loadFromFile(file.toFile());
+    }
+}
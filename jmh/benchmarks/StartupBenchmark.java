@@ -0,0 +1,63 @@
+package benchmarks;
+
+import manager.FileBackedTaskManager;
+import manager.FsyncPolicy;
+import manager.Managers;
+import manager.SnapshotFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//холодный старт: загрузка снимка на 100k и 1M сущностей в новый менеджер.
+//выделение памяти при загрузке смотреть с -prof gc, масштабирование по ядрам - сравнивая с запуском
+//-jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=1
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StartupBenchmark {
+    @Param({"100000", "1000000"})
+    public int boardSize;
+
+    @Param({"CSV", "BINARY"})
+    public SnapshotFormat format;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("kanban-startup", ".dat");
+        try (FileBackedTaskManager filling = Managers.getDefaultSaving(file, FsyncPolicy.NEVER, format)) {
+            Boards.fill(filling, boardSize);
+        }
+        //журнал применяется и сворачивается в снимок, дальше каждая загрузка читает только снимок
+        FileBackedTaskManager.loadFromFile(file.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public FileBackedTaskManager load() {
+        return FileBackedTaskManager.loadFromFile(file.toFile());
+    }
+}
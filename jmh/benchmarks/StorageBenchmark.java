@@ -0,0 +1,99 @@
+package benchmarks;
+
+import model.Status;
+import model.Task;
+import model.TaskType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.IntHashMap;
+import util.IntMap;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+//объём памяти хранилища на 1M задач и стоимость поиска по id для разных мап.
+//retainedBytes - прирост занятой кучи после сборки мусора, без учёта самих задач
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StorageBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"IntMap", "IntHashMap", "HashMap", "TreeMap"})
+    public String storage;
+
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new Task[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = new Task(i + 1, "Задача", Status.NEW, "Описание", TaskType.TASK, null, Duration.ZERO);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public Object fill(Footprint footprint) {
+        long before = usedHeap();
+        Object store = switch (storage) {
+            case "IntMap" -> {
+                IntMap<Task> map = new IntMap<>();
+                for (Task task : tasks) {
+                    map.put(task.getId(), task);
+                }
+                yield map;
+            }
+            case "IntHashMap" -> {
+                IntHashMap<Task> map = new IntHashMap<>();
+                for (Task task : tasks) {
+                    map.put(task.getId(), task);
+                }
+                yield map;
+            }
+            case "HashMap" -> fill(new HashMap<>());
+            case "TreeMap" -> fill(new TreeMap<>());
+            default -> throw new IllegalArgumentException(storage);
+        };
+        footprint.retainedBytes = usedHeap() - before;
+        return store;
+    }
+
+    private Map<Integer, Task> fill(Map<Integer, Task> map) {
+        for (Task task : tasks) {
+            map.put(task.getId(), task);
+        }
+        return map;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
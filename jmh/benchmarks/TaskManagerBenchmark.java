@@ -0,0 +1,84 @@
+package benchmarks;
+
+import manager.InMemoryTaskManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//добавление с проверкой пересечений и чтение списка по приоритету
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskManagerBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int boardSize;
+
+    private InMemoryTaskManager manager;
+    private int epicId;
+    private LocalDateTime freeSlot;
+    private Task existing;
+
+    @Setup
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        Boards.fill(manager, boardSize);
+        epicId = manager.addNewEpic(new Epic("Эпик", "Описание", Status.NEW, null, Duration.ZERO));
+        freeSlot = Boards.freeSlot(boardSize);
+        existing = manager.getTasks().values().iterator().next();
+    }
+
+    //задача удаляется в том же вызове, чтобы размер доски не рос между итерациями
+    @Benchmark
+    public int addNewTask() {
+        int id = manager.addNewTask(new Task("Новая", "Описание", Status.NEW, freeSlot, Boards.SLOT));
+        manager.deleteTaskById(id);
+        return id;
+    }
+
+    @Benchmark
+    public int addNewSubtask() {
+        int id = manager.addNewSubtask(new Subtask("Новая", "Описание", Status.NEW, epicId, freeSlot, Boards.SLOT));
+        manager.deleteSubtaskById(id);
+        return id;
+    }
+
+    //проверка пересечения без вставки: задача сравнивается сама с собой и с соседями
+    @Benchmark
+    public Task updateTask() {
+        manager.updateTask(existing);
+        return existing;
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasks() {
+        return manager.getPrioritizedTasks();
+    }
+
+    @Benchmark
+    public void iteratePrioritizedView(Blackhole blackhole) {
+        for (Task task : manager.getPrioritizedView()) {
+            blackhole.consume(task);
+        }
+    }
+}
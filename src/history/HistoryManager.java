@@ -1,14 +1,29 @@
 package history;
 
 import model.Task;
+import model.TaskSnapshot;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface HistoryManager {
     void add(Task task);
 
     void remove(int id);
 
-    List<Task> getHistory();
+    List<TaskSnapshot> getHistory();
+
+    //обход снимков истории от старых просмотров к новым без копирования
+    void forEach(Consumer<? super TaskSnapshot> action);
+
+    List<TaskSnapshot> recent(int n);
+
+    int size();
+
+    //максимальное число задач в истории
+    int getCapacity();
+
+    //сколько задач было вытеснено из истории из-за ограничения размера
+    long getEvictionCount();
 
 }
@@ -1,17 +1,34 @@
 package history;
 
 import model.Task;
+import model.TaskSnapshot;
+import util.IntHashMap;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 public class InMemoryHistoryManager implements HistoryManager {
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
 
-    private Map<Integer, Node> viewesHistory = new HashMap<>();
+    private final IntHashMap<Node> viewesHistory = new IntHashMap<>();
     private Node head;
     private Node tail;
+    private final int capacity;
+    private long evictionCount;
+
+    public InMemoryHistoryManager() {
+        this(UNBOUNDED);
+    }
+
+    //при переполнении вытесняется задача, которую дольше всех не просматривали
+    public InMemoryHistoryManager(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+        this.capacity = capacity;
+    }
 
     @Override
     public void add(Task task) {
@@ -26,17 +43,61 @@ public class InMemoryHistoryManager implements HistoryManager {
 
         linkLast(newNode);
         viewesHistory.put(task.getId(), newNode);
+        if (viewesHistory.size() > capacity) {
+            remove(head.snapshot.id());
+            evictionCount++;
+        }
+    }
+
+    //один массив на вызов, в список попадают сами снимки без копирования
+    @Override
+    public List<TaskSnapshot> getHistory() {
+        return recent(viewesHistory.size());
+    }
+
+    @Override
+    public void forEach(Consumer<? super TaskSnapshot> action) {
+        for (Node node = head; node != null; node = node.next) {
+            action.accept(node.snapshot);
+        }
+    }
+
+    //последние n просмотров в порядке просмотра, список собирается с конца истории
+    @Override
+    public List<TaskSnapshot> recent(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Количество задач не может быть отрицательным");
+        }
+        TaskSnapshot[] snapshots = new TaskSnapshot[Math.min(n, viewesHistory.size())];
+        Node node = tail;
+        for (int i = snapshots.length - 1; i >= 0; i--) {
+            snapshots[i] = node.snapshot;
+            node = node.prev;
+        }
+        return Collections.unmodifiableList(Arrays.asList(snapshots));
     }
 
     @Override
-    public List<Task> getHistory() {
-        return List.copyOf(getTasks());
+    public int size() {
+        return viewesHistory.size();
     }
 
     @Override
     public void remove(int id) {
-        removeNode(viewesHistory.get(id));
-        viewesHistory.remove(id);
+        Node node = viewesHistory.remove(id);
+        if (node != null) {
+            removeNode(node);
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount;
     }
 
     private void linkLast(Node node) {
@@ -49,16 +110,6 @@ public class InMemoryHistoryManager implements HistoryManager {
         tail = node;
     }
 
-    private List<Task> getTasks() {
-        List<Task> tasks = new ArrayList<>();
-        Node task = head;
-        while (task != null) {
-            tasks.add(task.task);
-            task = task.next;
-        }
-        return tasks;
-    }
-
     private void removeNode(Node node) {
 
         if (node.prev == null) { //значит node это head
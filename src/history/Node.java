@@ -1,14 +1,15 @@
 package history;
 
 import model.Task;
+import model.TaskSnapshot;
 
 public class Node {
-    public Task task;
+    public TaskSnapshot snapshot;
     public Node prev;
     public Node next;
 
     Node(Task task) {
-        this.task = new Task(task.getId(), task.getName(), task.getStatus(), task.getDescription(), task.getType(), task.getStartTime(), task.getDuration());
+        this.snapshot = TaskSnapshot.of(task);
         this.next = null;
         this.prev = null;
     }
@@ -0,0 +1,56 @@
+package history;
+
+import model.Task;
+import model.TaskSnapshot;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+//потокобезопасная обёртка над историей для многопоточного менеджера
+public class SynchronizedHistoryManager implements HistoryManager {
+    private final HistoryManager delegate;
+
+    public SynchronizedHistoryManager(HistoryManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        delegate.add(task);
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        delegate.remove(id);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getHistory() {
+        return delegate.getHistory();
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super TaskSnapshot> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> recent(int n) {
+        return delegate.recent(n);
+    }
+
+    @Override
+    public synchronized int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return delegate.getCapacity();
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return delegate.getEvictionCount();
+    }
+}
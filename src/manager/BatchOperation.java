@@ -0,0 +1,47 @@
+package manager;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskType;
+
+//одна операция пакета: создание или обновление сущности либо удаление по id
+public record BatchOperation(Action action, TaskType type, Task task, int id) {
+
+    public enum Action {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    public BatchOperation {
+        if (action == null || type == null) {
+            throw new IllegalArgumentException("Не указано действие или тип операции");
+        }
+        if (action != Action.DELETE && task == null) {
+            throw new IllegalArgumentException("Для создания и обновления нужна сущность");
+        }
+    }
+
+    public static BatchOperation create(Task task) {
+        return new BatchOperation(Action.CREATE, typeOf(task), task, task.getId());
+    }
+
+    //при откате восстанавливается прежний экземпляр, поэтому обновлять нужно новым объектом, а не изменённым "на месте"
+    public static BatchOperation update(Task task) {
+        return new BatchOperation(Action.UPDATE, typeOf(task), task, task.getId());
+    }
+
+    public static BatchOperation delete(TaskType type, int id) {
+        return new BatchOperation(Action.DELETE, type, null, id);
+    }
+
+    private static TaskType typeOf(Task task) {
+        if (task instanceof Subtask) {
+            return TaskType.SUBTASK;
+        } else if (task instanceof Epic) {
+            return TaskType.EPIC;
+        }
+        return TaskType.TASK;
+    }
+}
@@ -0,0 +1,28 @@
+package manager;
+
+import java.util.List;
+
+//результат операции пакета с её номером; при ошибке весь пакет откатывается
+public record BatchResult(int index, int id, Outcome outcome, String error) {
+
+    public enum Outcome {
+        APPLIED,
+        FAILED,
+        ROLLED_BACK,
+        //откат операции сам упал: её изменение осталось в менеджере, причина - в error
+        ROLLBACK_FAILED,
+        SKIPPED
+    }
+
+    static BatchResult applied(int index, int id) {
+        return new BatchResult(index, id, Outcome.APPLIED, null);
+    }
+
+    public static boolean allApplied(List<BatchResult> results) {
+        return results.stream().allMatch(result -> result.outcome() == Outcome.APPLIED);
+    }
+
+    public static boolean anyRollbackFailed(List<BatchResult> results) {
+        return results.stream().anyMatch(result -> result.outcome() == Outcome.ROLLBACK_FAILED);
+    }
+}
@@ -0,0 +1,275 @@
+package manager;
+
+import history.SynchronizedHistoryManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+//менеджер для многопоточного сервера: изменения идут под блокировкой записи, чтение - под блокировкой чтения.
+//наружу отдаются копии задач, потому что эпики меняются на месте. forEach-обходы копируют по одной задаче
+//и держат блокировку чтения, пока потребитель их пишет: память на запрос не растёт с размером доски
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ConcurrentTaskManager() {
+        this(Managers.DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public ConcurrentTaskManager(int historyCapacity) {
+        super(new SynchronizedHistoryManager(Managers.getDefaultHistory(historyCapacity)));
+    }
+
+    @Override
+    public void addToPrioritizedTasks(Task task) {
+        write(() -> super.addToPrioritizedTasks(task));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(() -> copies(super.getPrioritizedTasks()));
+    }
+
+    //живое представление TreeSet нельзя читать параллельно с изменениями,
+    //поэтому здесь под блокировкой копируется только запрошенная часть
+    @Override
+    public NavigableSet<Task> getPrioritizedView() {
+        return read(() -> snapshot(super.getPrioritizedView()));
+    }
+
+    @Override
+    public NavigableSet<Task> prioritizedHeadUntil(LocalDateTime time) {
+        return read(() -> snapshot(super.prioritizedHeadUntil(time)));
+    }
+
+    @Override
+    public NavigableSet<Task> prioritizedTailFrom(LocalDateTime time) {
+        return read(() -> snapshot(super.prioritizedTailFrom(time)));
+    }
+
+    @Override
+    public NavigableSet<Task> prioritizedBetween(LocalDateTime from, LocalDateTime to) {
+        return read(() -> snapshot(super.prioritizedBetween(from, to)));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartTime, int afterId, int limit) {
+        return read(() -> copies(super.getPrioritizedTasksPage(afterStartTime, afterId, limit)));
+    }
+
+    //методы для задач
+    @Override
+    public Map<Integer, Task> getTasks() {
+        return read(() -> copies(super.getTasks()));
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return read(() -> copies(super.getTasksPage(afterId, limit)));
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        read(() -> super.forEachTask(task -> action.accept(copy(task))));
+    }
+
+    @Override
+    public int addNewTask(Task task) {
+        return write(() -> super.addNewTask(task));
+    }
+
+    @Override
+    public List<BatchResult> applyBatch(List<BatchOperation> operations) {
+        return write(() -> super.applyBatch(operations));
+    }
+
+    @Override
+    public Task getAnyById(int id) {
+        return read(() -> copy(super.getAnyById(id)));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(() -> copy(super.getTaskById(id)));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> super.updateTask(task));
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        write(() -> super.deleteTaskById(id));
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        write(super::deleteAllTasks);
+    }
+
+    //методы для подзадач
+    @Override
+    public Map<Integer, Subtask> getSubtasks() {
+        return read(() -> copies(super.getSubtasks()));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return read(() -> copies(super.getSubtasksPage(afterId, limit)));
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        read(() -> super.forEachSubtask(subtask -> action.accept(copy(subtask))));
+    }
+
+    @Override
+    public void deleteAllSubtasks() {
+        write(super::deleteAllSubtasks);
+    }
+
+    @Override
+    public void deleteSubtasksByEpicId(int id) {
+        write(() -> super.deleteSubtasksByEpicId(id));
+    }
+
+    @Override
+    public Subtask getSubtaskById(int id) {
+        return read(() -> copy(super.getSubtaskById(id)));
+    }
+
+    @Override
+    public int addNewSubtask(Subtask subtask) {
+        return write(() -> super.addNewSubtask(subtask));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        write(() -> super.updateSubtask(subtask));
+    }
+
+    @Override
+    public void deleteSubtaskById(int id) {
+        write(() -> super.deleteSubtaskById(id));
+    }
+
+    //методы для эпиков
+    @Override
+    public Map<Integer, Epic> getEpics() {
+        return read(() -> copies(super.getEpics()));
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return read(() -> copies(super.getEpicsPage(afterId, limit)));
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        read(() -> super.forEachEpic(epic -> action.accept(copy(epic))));
+    }
+
+    @Override
+    public void deleteAllEpics() {
+        write(super::deleteAllEpics);
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return read(() -> copy(super.getEpicById(id)));
+    }
+
+    @Override
+    public int addNewEpic(Epic epic) {
+        return write(() -> super.addNewEpic(epic));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpicId(int id) {
+        return read(() -> copies(super.getSubtasksByEpicId(id)));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> super.updateEpic(epic));
+    }
+
+    @Override
+    public void deleteEpicById(int id) {
+        write(() -> super.deleteEpicById(id));
+    }
+
+    @Override
+    protected void restore(Task task) {
+        write(() -> super.restore(task));
+    }
+
+    private static NavigableSet<Task> snapshot(NavigableSet<Task> view) {
+        NavigableSet<Task> copy = new TreeSet<>(view.comparator());
+        view.forEach(task -> copy.add(task.copy()));
+        return Collections.unmodifiableNavigableSet(copy);
+    }
+
+    private static <T extends Task> Map<Integer, T> copies(Map<Integer, T> source) {
+        Map<Integer, T> copy = new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+        source.forEach((id, task) -> copy.put(id, copy(task)));
+        return copy;
+    }
+
+    private static <T extends Task> List<T> copies(List<T> source) {
+        List<T> copy = new ArrayList<>(source.size());
+        source.forEach(task -> copy.add(copy(task)));
+        return copy;
+    }
+
+    //copy() у подзадачи и эпика возвращает тот же тип
+    @SuppressWarnings("unchecked")
+    private static <T extends Task> T copy(T task) {
+        return task == null ? null : (T) task.copy();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        return locked(lock.readLock(), action);
+    }
+
+    private <T> T write(Supplier<T> action) {
+        return locked(lock.writeLock(), action);
+    }
+
+    private void read(Runnable action) {
+        locked(lock.readLock(), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void write(Runnable action) {
+        locked(lock.writeLock(), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T locked(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -5,168 +5,579 @@ import exceptions.ManagerSaveException;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TaskBinary;
+import model.TaskCsv;
 
-import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
+    //неудачная групповая запись повторяется фоном с удвоением паузы
+    private static final long FLUSH_RETRY_MILLIS = 100;
+    private static final long FLUSH_RETRY_MAX_MILLIS = 30_000;
     Path filename;
+    private Journal journal;
+    private boolean loading;
+    private ScheduledThreadPoolExecutor background;
+    private CompletableFuture<Void> pendingCompaction = CompletableFuture.completedFuture(null);
+    private int compactionThreshold;
+    private int recordsSinceCompaction;
+    //записи текущего пакета, пишутся на диск одним разом после успешного применения
+    private List<String> batchRecords;
+    private SnapshotFormat format;
+    //групповая запись снимка: изменения копятся и пишутся фоном не позже чем через groupCommitMillis
+    //или после groupCommitMutations изменений; отрицательная задержка - режим выключен
+    private long groupCommitMillis = -1;
+    private int groupCommitMutations;
+    private int pendingMutations;
+    private boolean dirty;
+    private ScheduledFuture<?> scheduledFlush;
+    private CompletableFuture<Void> pendingFlush = new CompletableFuture<>();
+    private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+    //число неудачных записей подряд, от него растёт пауза до повтора
+    private int failedFlushes;
+    //после закрытия фоновый поток остановлен, и изменения сохраняются сразу
+    private boolean closed;
 
     public FileBackedTaskManager(Path filename) {
+        this(filename, SnapshotFormat.CSV);
+    }
+
+    public FileBackedTaskManager(Path filename, SnapshotFormat format) {
         this.filename = filename;
+        this.format = format;
+    }
+
+    public static FileBackedTaskManager createJournaled(Path filename, FsyncPolicy fsyncPolicy) {
+        return createJournaled(filename, fsyncPolicy, SnapshotFormat.CSV);
+    }
+
+    //режим журнала: новый файл записывается целиком один раз, дальше каждое изменение дописывается в журнал.
+    //файл или журнал с данными не перезаписывается - такое хранилище открывается через loadFromFile
+    public static FileBackedTaskManager createJournaled(Path filename, FsyncPolicy fsyncPolicy, SnapshotFormat format) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(filename, format);
+        if (hasData(filename) || hasData(Journal.pathFor(filename)) || Files.exists(manager.compactingJournalPath())) {
+            throw new ManagerSaveException("В хранилище уже есть данные, его нужно открыть через loadFromFile: "
+                    + filename);
+        }
+        manager.save();
+        manager.openJournal(fsyncPolicy);
+        return manager;
     }
 
     //строками заполняю менеджер
     public static FileBackedTaskManager loadFromFile(File file) {
-        Path path = file.toPath();
-        FileBackedTaskManager manager = new FileBackedTaskManager(path);
-        List<Subtask> subtasks = new ArrayList<>();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file.toPath());
+        if (manager.load() > 0) {
+            //журнал уже применён, сохраняю файл целиком, и журнал больше не нужен
+            manager.save();
+            manager.deleteFile(manager.compactingJournalPath());
+            manager.deleteFile(Journal.pathFor(manager.filename));
+        }
+        return manager;
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, FsyncPolicy fsyncPolicy) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(file.toPath());
+        manager.load();
+        manager.openJournal(fsyncPolicy);
+        return manager;
+    }
+
+    //фоновое сжатие журнала: новый снимок по таймеру и/или после maxRecords записей (0 - без ограничения)
+    public synchronized void enableCompaction(Duration interval, int maxRecords) {
+        if (journal == null) {
+            throw new IllegalStateException("Сжатие доступно только в режиме журнала");
+        }
+        compactionThreshold = maxRecords;
+        if (interval != null && !interval.isZero()) {
+            long millis = interval.toMillis();
+            background().scheduleWithFixedDelay(this::compactOnSchedule, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //групповая запись в режиме снимка: вместо save() на каждое изменение файл пишется фоном с fsync
+    //не позже чем через maxDelay после первого несохранённого изменения или сразу после maxMutations изменений
+    //(0 - без ограничения). дождаться записи можно через flush()
+    public synchronized void enableGroupCommit(Duration maxDelay, int maxMutations) {
+        if (journal != null) {
+            throw new IllegalStateException("Групповая запись доступна только в режиме снимка");
+        }
+        if (maxDelay == null || maxDelay.isNegative() || maxMutations < 0) {
+            throw new IllegalArgumentException("Неверные параметры групповой записи");
+        }
+        background();
+        groupCommitMillis = maxDelay.toMillis();
+        groupCommitMutations = maxMutations;
+    }
+
+    //запускает запись накопленных изменений; future завершается, когда они на диске
+    public synchronized CompletableFuture<Void> flush() {
+        if (!dirty || closed) {
+            return lastFlush;
+        }
+        scheduleFlush(0);
+        return pendingFlush;
+    }
+
+    //снимок состояния берётся под блокировкой, а запись файла идёт в фоновом потоке
+    public synchronized CompletableFuture<Void> compact() {
+        if (journal == null) {
+            throw new IllegalStateException("Сжатие доступно только в режиме журнала");
+        }
+        if (!pendingCompaction.isDone()) {
+            return pendingCompaction;
+        }
+        byte[] content = snapshot();
+        journal = journal.rotateTo(compactingJournalPath());
+        recordsSinceCompaction = 0;
+        Runnable write = () -> {
+            writeSnapshot(content, true);
+            deleteFile(compactingJournalPath());
+        };
+        pendingCompaction = background == null
+                ? CompletableFuture.runAsync(write)
+                : CompletableFuture.runAsync(write, background);
+        return pendingCompaction;
+    }
+
+    //исключение из задачи по таймеру молча отменило бы все следующие запуски, поэтому оно только пишется в лог
+    private void compactOnSchedule() {
         try {
-            String content = Files.readString(path, StandardCharsets.UTF_8);
-            String[] lines = content.split("\n");
-            for (int i = 1; i < lines.length; i++) {
-                String line = lines[i];
-                if (line.isEmpty()) {
-                    continue;
-                }
-                Task task = Task.fromString(line);
-                switch (task.getType()) {
-                    case TASK -> manager.addNewTask(task);
-                    case SUBTASK -> subtasks.add((Subtask) task);
-                    case EPIC -> manager.addNewEpic((Epic) task);
+            compact().whenComplete((result, e) -> {
+                if (e != null) {
+                    System.err.println("Сжатие журнала не удалось: " + e.getMessage());
                 }
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Сжатие журнала не удалось: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if (background != null) {
+            //отложенные записи не ждём: всё несохранённое пишется ниже в текущем потоке
+            background.shutdown();
+            try {
+                background.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-            subtasks.stream()
-                    .forEach(manager::addNewSubtask);
+        }
+        flushDirty();
+        synchronized (this) {
+            //если сжатие завершилось ошибкой, его журнал остаётся на диске и будет применён при загрузке
+            pendingCompaction.exceptionally(e -> null).join();
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    //при EVERY_SECOND последние записи попадают на диск по таймеру, даже если следующих изменений нет
+    private void openJournal(FsyncPolicy fsyncPolicy) {
+        journal = new Journal(Journal.pathFor(filename), fsyncPolicy);
+        if (fsyncPolicy == FsyncPolicy.EVERY_SECOND) {
+            background().scheduleWithFixedDelay(this::syncJournal, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    //ошибка fsync не должна останавливать таймер: следующая попытка будет через секунду
+    private synchronized void syncJournal() {
+        try {
+            journal.syncPending();
+        } catch (RuntimeException e) {
+            System.err.println("Не удалось сбросить журнал на диск: " + e.getMessage());
+        }
+    }
+
+    private static boolean hasData(Path path) {
+        try {
+            return Files.exists(path) && Files.size(path) > 0;
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    //загружаю последний снимок и применяю поверх него журнал, возвращаю число применённых записей
+    private int load() {
+        loading = true;
+        try {
+            loadSnapshot();
+            //журнал незавершённого сжатия старше текущего, поэтому применяется первым
+            return replayJournal(compactingJournalPath()) + replayJournal(Journal.pathFor(filename));
+        } finally {
+            loading = false;
+        }
+    }
+
+    //снимок всегда грузится в пустой менеджер, поэтому строки не проверяются и индексы строятся один раз.
+    //большой CSV разбирается параллельно, а связывание подзадач с эпиками идёт уже в одном потоке.
+    //формат определяется по сигнатуре, дальше файл сохраняется в том же формате
+    private void loadSnapshot() {
+        ByteBuffer content;
+        try {
+            content = SnapshotReader.map(filename);
         } catch (IOException e) {
             throw new ManagerLoadException(e.getMessage());
         }
-        return manager;
+        format = SnapshotReader.formatOf(content);
+        try {
+            bulkLoad(SnapshotReader.readAll(content, ForkJoinPool.getCommonPoolParallelism()));
+        } catch (IllegalArgumentException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
     }
 
-    //получаю мапы и записываю
-    private void save() {
-        try (BufferedWriter bufferedWriter = Files.newBufferedWriter(
-                filename,
-                StandardCharsets.UTF_8)
-        ) {
-            bufferedWriter.write("id,type,name,status,description,epic,startTime,duration" + "\n");
-            for (Task task : getTasks().values()) {
-                bufferedWriter.write(toString(task) + "\n");
+    static byte[] encode(Collection<? extends Task> tasks, SnapshotFormat format) {
+        if (format == SnapshotFormat.BINARY) {
+            TaskBinary.Writer writer = new TaskBinary.Writer(tasks.size() * 48 + 16);
+            tasks.forEach(writer::write);
+            return writer.toByteArray();
+        }
+        StringBuilder text = new StringBuilder(tasks.size() * 64 + 64).append(TaskCsv.HEADER).append('\n');
+        for (Task task : tasks) {
+            TaskCsv.append(text, task);
+            text.append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int replayJournal(Path path) {
+        List<String> records = Journal.readRecords(path);
+        int applied = 0;
+        for (String record : records) {
+            if (record.isEmpty()) {
+                continue;
             }
-            for (Subtask subtask : getSubtasks().values()) {
-                bufferedWriter.write(toString(subtask) + "\n");
+            try {
+                replay(record);
+                applied++;
+            } catch (RuntimeException e) {
+                //оборванный хвост отбрасывается ещё при чтении, поэтому ошибка в целой записи - повреждение
+                throw new ManagerLoadException("Повреждённая запись журнала: " + record);
             }
+        }
+        return applied;
+    }
+
+    //если сжатие прервалось после замены файла, журнал сжатия накладывается на снимок, где он уже учтён.
+    //каждая запись задаёт итоговое состояние по id, удаление отсутствующего пропускается, а подзадача
+    //эпика, которого уже нет (его удаление дальше в том же журнале), не восстанавливается
+    private void replay(String record) {
+        int separator = record.indexOf(',');
+        Journal.Operation operation = Journal.Operation.valueOf(
+                separator < 0 ? record : record.substring(0, separator));
+        String payload = separator < 0 ? "" : record.substring(separator + 1);
+        switch (operation) {
+            case PUT -> {
+                Task task = TaskCsv.parse(record, separator + 1);
+                if (!(task instanceof Subtask subtask) || getEpics().containsKey(subtask.getEpicId())) {
+                    restore(task);
+                }
+            }
+            case DELETE_TASK -> {
+                int id = Integer.parseInt(payload);
+                if (getTasks().containsKey(id)) {
+                    super.deleteTaskById(id);
+                }
+            }
+            case DELETE_SUBTASK -> {
+                int id = Integer.parseInt(payload);
+                if (getSubtasks().containsKey(id)) {
+                    super.deleteSubtaskById(id);
+                }
+            }
+            case DELETE_EPIC -> {
+                int id = Integer.parseInt(payload);
+                if (getEpics().containsKey(id)) {
+                    super.deleteEpicById(id);
+                }
+            }
+            case DELETE_SUBTASKS_BY_EPIC -> {
+                int id = Integer.parseInt(payload);
+                if (getEpics().containsKey(id)) {
+                    super.deleteSubtasksByEpicId(id);
+                }
+            }
+            case DELETE_ALL_TASKS -> super.deleteAllTasks();
+            case DELETE_ALL_SUBTASKS -> super.deleteAllSubtasks();
+            case DELETE_ALL_EPICS -> super.deleteAllEpics();
+        }
+    }
+
+    private Path compactingJournalPath() {
+        return filename.resolveSibling(filename.getFileName() + ".journal.compacting");
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
 
-            for (Epic epic : getEpics().values()) {
-                bufferedWriter.write(toString(epic) + "\n");
+    //в режиме журнала дописываю одну запись, иначе перезаписываю файл целиком
+    private void persist(String record) {
+        if (loading) {
+            return;
+        }
+        if (batchRecords != null) {
+            batchRecords.add(record);
+            return;
+        }
+        persistAll(List.of(record));
+    }
+
+    private void persistAll(List<String> records) {
+        if (journal == null && groupCommitMillis >= 0 && !closed) {
+            markDirty(records.size());
+        } else if (journal == null) {
+            save();
+        } else {
+            journal.append(records);
+            recordsSinceCompaction += records.size();
+            if (compactionThreshold > 0 && recordsSinceCompaction >= compactionThreshold) {
+                compact();
             }
+        }
+    }
+
+    private void markDirty(int mutations) {
+        dirty = true;
+        pendingMutations += mutations;
+        if (groupCommitMutations > 0 && pendingMutations >= groupCommitMutations) {
+            scheduleFlush(0);
+        } else if (scheduledFlush == null) {
+            scheduleFlush(groupCommitMillis);
+        }
+    }
+
+    //запланированная раньше запись не откладывается
+    private void scheduleFlush(long delayMillis) {
+        if (scheduledFlush != null) {
+            if (scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = background.schedule(this::flushDirty, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //снимок берётся под блокировкой, файл пишется вне её. при ошибке изменения остаются несохранёнными
+    //и запись повторяется позже; при закрытии ошибка пробрасывается вызывающему
+    private void flushDirty() {
+        byte[] content;
+        CompletableFuture<Void> done;
+        synchronized (this) {
+            scheduledFlush = null;
+            if (!dirty) {
+                return;
+            }
+            content = snapshot();
+            dirty = false;
+            pendingMutations = 0;
+            done = pendingFlush;
+            lastFlush = done;
+            pendingFlush = new CompletableFuture<>();
+        }
+        try {
+            writeSnapshot(content, true);
+            synchronized (this) {
+                failedFlushes = 0;
+            }
+            done.complete(null);
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+            synchronized (this) {
+                dirty = true;
+                if (closed) {
+                    throw e;
+                }
+                failedFlushes++;
+                scheduleFlush(Math.min(FLUSH_RETRY_MAX_MILLIS, FLUSH_RETRY_MILLIS << Math.min(failedFlushes - 1, 16)));
+            }
+        }
+    }
+
+    private ScheduledThreadPoolExecutor background() {
+        if (background == null) {
+            background = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "file-manager-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            background.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+        return background;
+    }
+
+    private void save() {
+        writeSnapshot(snapshot(), false);
+    }
+
+    //снимок кодируется под блокировкой, поэтому фоновая запись не видит последующих изменений
+    private byte[] snapshot() {
+        List<Task> all = new ArrayList<>(getTasks().size() + getSubtasks().size() + getEpics().size());
+        all.addAll(getTasks().values());
+        all.addAll(getSubtasks().values());
+        all.addAll(getEpics().values());
+        return encode(all, format);
+    }
+
+    //пишу во временный файл и атомарно переименовываю, чтобы сбой не оставил недописанный файл
+    private void writeSnapshot(byte[] content, boolean sync) {
+        Path temp = filename.resolveSibling(filename.getFileName() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temp.toFile())) {
+            outputStream.write(content);
+            if (sync) {
+                outputStream.getChannel().force(true);
+            }
+        } catch (IOException exp) {
+            throw new ManagerSaveException(exp.getMessage());
+        }
+        try {
+            Files.move(temp, filename, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException exp) {
             throw new ManagerSaveException(exp.getMessage());
         }
     }
 
+    //пакет сохраняется один раз: весь файл или все записи журнала с одним fsync; откат не пишется вовсе.
+    //если откат не удался до конца, в памяти осталась часть пакета - тогда файл переписывается целиком
+    @Override
+    public synchronized List<BatchResult> applyBatch(List<BatchOperation> operations) {
+        batchRecords = new ArrayList<>();
+        List<String> records;
+        List<BatchResult> results;
+        try {
+            results = super.applyBatch(operations);
+        } finally {
+            records = batchRecords;
+            batchRecords = null;
+        }
+        if (!loading && BatchResult.allApplied(results) && !records.isEmpty()) {
+            persistAll(records);
+        } else if (!loading && BatchResult.anyRollbackFailed(results)) {
+            rewriteAll();
+        }
+        return results;
+    }
+
+    //в режиме журнала состояние пишется сжатием; начатое раньше сжатие могло снять снимок до пакета
+    private void rewriteAll() {
+        if (journal != null) {
+            pendingCompaction.exceptionally(e -> null).join();
+            compact();
+        } else if (groupCommitMillis >= 0 && !closed) {
+            markDirty(1);
+        } else {
+            save();
+        }
+    }
+
     @Override
-    public int addNewTask(Task task) {
+    public synchronized int addNewTask(Task task) {
         int taskId = super.addNewTask(task);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(task)));
         return taskId;
     }
 
     @Override
-    public void updateTask(Task task) {
+    public synchronized void updateTask(Task task) {
         super.updateTask(task);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(task)));
     }
 
     @Override
-    public void deleteTaskById(int id) {
+    public synchronized void deleteTaskById(int id) {
         super.deleteTaskById(id);
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_TASK, String.valueOf(id)));
     }
 
     @Override
-    public void deleteAllTasks() {
+    public synchronized void deleteAllTasks() {
         super.deleteAllTasks();
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_ALL_TASKS));
     }
 
     @Override
-    public void deleteAllSubtasks() {
+    public synchronized void deleteAllSubtasks() {
         super.deleteAllSubtasks();
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_ALL_SUBTASKS));
     }
 
     @Override
-    public void deleteSubtasksByEpicId(int id) {
+    public synchronized void deleteSubtasksByEpicId(int id) {
         super.deleteSubtasksByEpicId(id);
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_SUBTASKS_BY_EPIC, String.valueOf(id)));
     }
 
     @Override
-    public void deleteSubtaskById(int id) {
+    public synchronized void deleteSubtaskById(int id) {
         super.deleteSubtaskById(id);
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_SUBTASK, String.valueOf(id)));
     }
 
     @Override
-    public int addNewSubtask(Subtask subtask) {
+    public synchronized int addNewSubtask(Subtask subtask) {
         int subtaskId = super.addNewSubtask(subtask);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(subtask)));
         return subtaskId;
     }
 
     @Override
-    public void updateSubtask(Subtask subtask) {
+    public synchronized void updateSubtask(Subtask subtask) {
         super.updateSubtask(subtask);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(subtask)));
     }
 
     @Override
-    public void deleteEpicById(int id) {
+    public synchronized void deleteEpicById(int id) {
         super.deleteEpicById(id);
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_EPIC, String.valueOf(id)));
     }
 
     @Override
-    public void updateEpic(Epic epic) {
+    public synchronized void updateEpic(Epic epic) {
         super.updateEpic(epic);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(epic)));
     }
 
     @Override
-    public int addNewEpic(Epic epic) {
+    public synchronized int addNewEpic(Epic epic) {
         int epicId = super.addNewEpic(epic);
-        save();
+        persist(Journal.record(Journal.Operation.PUT, toString(epic)));
         return epicId;
     }
 
     @Override
-    public void deleteAllEpics() {
+    public synchronized void deleteAllEpics() {
         super.deleteAllEpics();
-        save();
+        persist(Journal.record(Journal.Operation.DELETE_ALL_EPICS));
     }
 
     String toString(Task task) {
-
-        if (task == null) {
-            return "";
-        }
-        return String.join(",",
-                String.valueOf(task.getId()),
-                String.valueOf(task.getType()),
-                task.getName(),
-                String.valueOf(task.getStatus()),
-                task.getDescription(),
-                task instanceof Subtask ? String.valueOf(((Subtask) task).getEpicId()) : "",
-                task.getStartTime() != null ? task.getStartTime().toString() : "",
-                !task.getDuration().isZero() ? String.valueOf(task.getDuration().toMinutes()) : ""
-        );
+        return task == null ? "" : TaskCsv.format(task);
     }
 }
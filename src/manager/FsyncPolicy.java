@@ -0,0 +1,8 @@
+package manager;
+
+//когда журнал изменений сбрасывается на диск
+public enum FsyncPolicy {
+    ALWAYS,
+    EVERY_SECOND,
+    NEVER
+}
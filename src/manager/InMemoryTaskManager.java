@@ -4,34 +4,75 @@ import history.HistoryManager;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TaskSnapshot;
 import model.TaskType;
+import util.IntMap;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
-import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
 public class InMemoryTaskManager implements TaskManager {
-    private final Map<Integer, Task> tasks = new HashMap<>();
-    private final Map<Integer, Subtask> subtasks = new HashMap<>();
-    private final Map<Integer, Epic> epics = new HashMap<>();
-    private final HistoryManager historyManager = Managers.getDefaultHistory();
-    private final Set<Task> prioritizedTasks = new TreeSet<>(
+    //id выдаются подряд, поэтому хранилища - плотные массивы по id без упаковки ключей
+    private final IntMap<Task> tasks = new IntMap<>();
+    private final IntMap<Subtask> subtasks = new IntMap<>();
+    private final IntMap<Epic> epics = new IntMap<>();
+    //общий индекс по id для всех типов: id уникальны, тип берётся из самой сущности
+    private final IntMap<Task> entities = new IntMap<>();
+    private final HistoryManager historyManager;
+    private final NavigableSet<Task> prioritizedTasks = new TreeSet<>(
             Comparator.comparing(Task::getStartTime)
                     .thenComparing(Task::getId)
     );
-    private int nextId;
+    private final TimeIntervalIndex timeIndex = new TimeIntervalIndex();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public InMemoryTaskManager() {
+        this(Managers.getDefaultHistory());
+    }
+
+    public InMemoryTaskManager(int historyCapacity) {
+        this(Managers.getDefaultHistory(historyCapacity));
+    }
+
+    //наследникам может понадобиться другая история (например, потокобезопасная)
+    protected InMemoryTaskManager(HistoryManager historyManager) {
+        this.historyManager = historyManager;
+    }
 
     @Override
-    public List<Task> getHistory() {
-        return historyManager.getHistory().isEmpty()
-                ? List.of()
-                : List.copyOf(historyManager.getHistory());
+    public List<TaskSnapshot> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public void forEachInHistory(Consumer<? super TaskSnapshot> action) {
+        historyManager.forEach(action);
+    }
+
+    @Override
+    public List<TaskSnapshot> getRecentHistory(int n) {
+        return historyManager.recent(n);
+    }
+
+    @Override
+    public int getHistoryCapacity() {
+        return historyManager.getCapacity();
+    }
+
+    @Override
+    public long getHistoryEvictionCount() {
+        return historyManager.getEvictionCount();
     }
 
     //приоритизация задач по времени и получения списка
@@ -40,6 +81,14 @@ public class InMemoryTaskManager implements TaskManager {
         if (task.getStartTime() != null) {
             prioritizedTasks.add(task);
         }
+        timeIndex.add(task);
+    }
+
+    //задачи без времени начала в TreeSet не попадают, а сравнивать их компаратором нельзя
+    private void removeFromPrioritizedTasks(Task task) {
+        if (task != null && task.getStartTime() != null) {
+            prioritizedTasks.remove(task);
+        }
     }
 
     @Override
@@ -49,12 +98,70 @@ public class InMemoryTaskManager implements TaskManager {
                 : List.copyOf(prioritizedTasks);
     }
 
+    //представления только для чтения поверх TreeSet, без копирования
+    @Override
+    public NavigableSet<Task> getPrioritizedView() {
+        return Collections.unmodifiableNavigableSet(prioritizedTasks);
+    }
+
+    //задачи, начинающиеся раньше time
+    @Override
+    public NavigableSet<Task> prioritizedHeadUntil(LocalDateTime time) {
+        return Collections.unmodifiableNavigableSet(prioritizedTasks.headSet(probe(time, Integer.MIN_VALUE), false));
+    }
+
+    //задачи, начинающиеся не раньше time
+    @Override
+    public NavigableSet<Task> prioritizedTailFrom(LocalDateTime time) {
+        return Collections.unmodifiableNavigableSet(prioritizedTasks.tailSet(probe(time, Integer.MIN_VALUE), true));
+    }
+
+    //задачи, начинающиеся в [from, to)
+    @Override
+    public NavigableSet<Task> prioritizedBetween(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Начало интервала позже его конца");
+        }
+        return Collections.unmodifiableNavigableSet(prioritizedTasks.subSet(
+                probe(from, Integer.MIN_VALUE), true,
+                probe(to, Integer.MIN_VALUE), false));
+    }
+
+    //страница приоритетного списка: задачи строго после (afterStartTime, afterId), null - с начала
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartTime, int afterId, int limit) {
+        if (afterStartTime == null) {
+            return page(prioritizedTasks.iterator(), limit);
+        }
+        return page(prioritizedTasks.tailSet(probe(afterStartTime, afterId), false).iterator(), limit);
+    }
+
+    @Override
+    public Task getAnyById(int id) {
+        Task entity = entities.get(id);
+        if (entity == null) {
+            throw new NoSuchElementException("Сущность с указанным id не найдена");
+        }
+        historyManager.add(entity);
+        return entity;
+    }
+
     //методы для задач
     @Override
     public Map<Integer, Task> getTasks() {
         return tasks;
     }
 
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return page(tasks.valuesAfter(afterId), limit);
+    }
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        tasks.values().forEach(action);
+    }
+
     @Override
     public int addNewTask(Task task) {
         if (hasAnyTimeOverlap(task)) {
@@ -63,7 +170,7 @@ public class InMemoryTaskManager implements TaskManager {
         int id = generateId();
         task.setId(id);
         task.setType(TaskType.TASK);
-        tasks.put(id, task);
+        store(tasks, task);
         addToPrioritizedTasks(task);
         return id;
     }
@@ -73,7 +180,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (!tasks.containsKey(id)) {
             throw new NoSuchElementException("Задача с указанным id не найдена");
         } else {
-            historyManager.add(taskCopy(tasks.get(id)));
+            historyManager.add(tasks.get(id));
             return tasks.get(id);
         }
     }
@@ -86,8 +193,8 @@ public class InMemoryTaskManager implements TaskManager {
         if (hasAnyTimeOverlap(task)) {
             throw new IllegalStateException("Задача пересекается по времени с существующей");
         }
-        prioritizedTasks.remove(task);
-        tasks.put(task.getId(), task);
+        removeFromPrioritizedTasks(tasks.get(task.getId()));
+        store(tasks, task);
         addToPrioritizedTasks(task);
     }
 
@@ -96,14 +203,16 @@ public class InMemoryTaskManager implements TaskManager {
         if (!tasks.containsKey(id)) {
             throw new NoSuchElementException("Задача с указанным id не найдена");
         }
-        prioritizedTasks.remove(tasks.get(id));
-        tasks.remove(id);
+        removeFromPrioritizedTasks(tasks.get(id));
+        timeIndex.remove(id);
+        evict(tasks, id);
     }
 
     @Override
     public void deleteAllTasks() {
         prioritizedTasks.removeIf(task -> tasks.containsKey(task.getId()));
-        tasks.clear();
+        tasks.keySet().forEach(timeIndex::remove);
+        evictAll(tasks);
     }
 
     //методы для подзадач
@@ -112,10 +221,25 @@ public class InMemoryTaskManager implements TaskManager {
         return subtasks;
     }
 
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return page(subtasks.valuesAfter(afterId), limit);
+    }
+
+    @Override
+    public void forEachSubtask(Consumer<? super Subtask> action) {
+        subtasks.values().forEach(action);
+    }
+
     @Override
     public void deleteAllSubtasks() {
         prioritizedTasks.removeIf(subtask -> subtasks.containsKey(subtask.getId()));
-        subtasks.clear();
+        subtasks.keySet().forEach(timeIndex::remove);
+        evictAll(subtasks);
+        epics.values().forEach(epic -> {
+            epic.clearSubtasks();
+            refreshEpic(epic);
+        });
     }
 
     @Override
@@ -123,11 +247,14 @@ public class InMemoryTaskManager implements TaskManager {
         if (!epics.containsKey(id)) {
             throw new NoSuchElementException("Эпик с указанным id не найден");
         }
-        getSubtasksByEpicId(id).stream()
-                .peek(prioritizedTasks::remove)
-                .map(Subtask::getId)
-                .forEach(subtasks::remove);
-        updateEpic(epics.get(id));
+        Epic epic = epics.get(id);
+        for (Subtask subtask : epic.getSubtasks()) {
+            removeFromPrioritizedTasks(subtask);
+            timeIndex.remove(subtask.getId());
+            evict(subtasks, subtask.getId());
+        }
+        epic.clearSubtasks();
+        updateEpic(epic);
     }
 
     @Override
@@ -135,29 +262,27 @@ public class InMemoryTaskManager implements TaskManager {
         if (!subtasks.containsKey(id)) {
             throw new NoSuchElementException("Подзадача с указанным id не найдена");
         }
-        historyManager.add(taskCopy(subtasks.get(id)));
+        historyManager.add(subtasks.get(id));
         return subtasks.get(id);
 
     }
 
     @Override
     public int addNewSubtask(Subtask subtask) {
-        if (subtask.getId() == subtask.getEpicId() ||
-                !epics.containsKey(subtask.getEpicId())) {
+        //id подзадачи всегда выдаёт менеджер, поэтому совпасть с id эпика он не может
+        if (!epics.containsKey(subtask.getEpicId())) {
             throw new IllegalArgumentException("Передан неверный id эпика");
         }
         if (hasAnyTimeOverlap(subtask)) {
             throw new IllegalStateException("Подзадача пересекается по времени с существующей");
         }
-        if (subtask.getId() == 0) {
-            subtask.setId(generateId());
-        }
+        subtask.setId(generateId());
         subtask.setType(TaskType.SUBTASK);
-        subtasks.put(subtask.getId(), subtask);
+        store(subtasks, subtask);
         addToPrioritizedTasks(subtask);
         Epic epic = epics.get(subtask.getEpicId());
         if (epic != null) {
-            epic.getSubtasks().add(subtask);
+            epic.addSubtask(subtask);
             updateEpic(epic);
         }
         return subtask.getId();
@@ -170,11 +295,22 @@ public class InMemoryTaskManager implements TaskManager {
         }
         if (!subtasks.containsKey(subtask.getId())) {
             throw new NoSuchElementException("Подзадача с указанным id не найдена");
+        } else if (!epics.containsKey(subtask.getEpicId())) {
+            throw new IllegalArgumentException("Передан неверный id эпика");
         } else {
-            prioritizedTasks.remove(subtask);
-            subtasks.put(subtask.getId(), subtask);
+            removeFromPrioritizedTasks(subtasks.get(subtask.getId()));
+            Subtask old = store(subtasks, subtask);
             addToPrioritizedTasks(subtask);
             Epic epic = epics.get(subtask.getEpicId());
+            Epic oldEpic = epics.get(old.getEpicId());
+            if (oldEpic != null && oldEpic != epic) {
+                //подзадачу перенесли в другой эпик
+                oldEpic.removeSubtask(subtask.getId());
+                updateEpic(oldEpic);
+                epic.addSubtask(subtask);
+            } else {
+                epic.updateSubtask(subtask);
+            }
             updateEpic(epic);
         }
     }
@@ -184,13 +320,13 @@ public class InMemoryTaskManager implements TaskManager {
         if (!subtasks.containsKey(id)) {
             throw new NoSuchElementException("Подзадача с указанным id не найдена");
         } else {
-            Subtask subtask = getSubtaskById(id);
-            prioritizedTasks.remove(subtask);
+            Subtask subtask = subtasks.get(id);
+            removeFromPrioritizedTasks(subtask);
+            timeIndex.remove(id);
             Epic epic = epics.get(subtask.getEpicId());
-            List<Subtask> list = epic.getSubtasks();
-            list.remove(subtask);
+            epic.removeSubtask(subtask);
             updateEpic(epic);
-            subtasks.remove(id);
+            evict(subtasks, id);
         }
     }
 
@@ -200,10 +336,20 @@ public class InMemoryTaskManager implements TaskManager {
         return epics;
     }
 
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return page(epics.valuesAfter(afterId), limit);
+    }
+
+    @Override
+    public void forEachEpic(Consumer<? super Epic> action) {
+        epics.values().forEach(action);
+    }
+
     @Override
     public void deleteAllEpics() {
         deleteAllSubtasks();
-        epics.clear();
+        evictAll(epics);
     }
 
     @Override
@@ -211,7 +357,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (!epics.containsKey(id)) {
             throw new NoSuchElementException("Эпик с указанным id не найден");
         }
-        historyManager.add(taskCopy(epics.get(id)));
+        historyManager.add(epics.get(id));
         return epics.get(id);
 
     }
@@ -221,7 +367,7 @@ public class InMemoryTaskManager implements TaskManager {
         epic.setType(TaskType.EPIC);
         epic.setId(generateId());
         epic.setStatus(epic.checkStatus());
-        epics.put(epic.getId(), epic);
+        store(epics, epic);
         return epic.getId();
     }
 
@@ -230,17 +376,22 @@ public class InMemoryTaskManager implements TaskManager {
         if (!epics.containsKey(id)) {
             return List.of();
         }
-        return epics.get(id).getSubtasks();
+        return List.copyOf(epics.get(id).getSubtasks());
     }
 
+    //новый экземпляр эпика получает подзадачи хранимого: свои подзадачи эпика задаются только через подзадачи
     @Override
     public void updateEpic(Epic epic) {
-        if (!epics.containsKey(epic.getId())) {
+        Epic old = epics.get(epic.getId());
+        if (old == null) {
             throw new NoSuchElementException("Эпик с указанным id не найден");
         }
-        epic.setStatus(epic.checkStatus());
-        epic.updateTimeFields();
-        epics.put(epic.getId(), epic);
+        if (old != epic) {
+            epic.clearSubtasks();
+            old.getSubtasks().forEach(epic::addSubtask);
+        }
+        refreshEpic(epic);
+        store(epics, epic);
     }
 
     @Override
@@ -249,43 +400,223 @@ public class InMemoryTaskManager implements TaskManager {
             throw new NoSuchElementException("Эпик с указанным id не найден");
         }
         deleteSubtasksByEpicId(id);
-        epics.remove(id);
+        evict(epics, id);
 
     }
 
-    private Task taskCopy(Task task) {
-        if (task instanceof Subtask subtask) {
-            Subtask copy = new Subtask(subtask.getName(), subtask.getDescription(),
-                    subtask.getStatus(), subtask.getEpicId(), subtask.getStartTime(), subtask.getDuration());
-            copy.setId(task.getId());
-            return copy;
-        } else if (task instanceof Epic epic) {
-            Epic copy = new Epic(epic.getName(), epic.getDescription(), epic.getStatus(), epic.getStartTime(), epic.getDuration());
-            copy.setId(task.getId());
-            return copy;
-        } else {
-            Task copy = new Task(task.getName(), task.getDescription(), task.getStatus(), task.getStartTime(), task.getDuration());
-            copy.setId(task.getId());
-            return copy;
+    //операции применяются по порядку обычными методами менеджера, поэтому пересечение по времени проверяется
+    //для каждой операции против уже применённых. на первой ошибке применённые откатываются в обратном порядке;
+    //упавший откат не останавливает остальные, такая операция помечается ROLLBACK_FAILED.
+    //история пакетом не меняется: чтение идёт мимо неё, а удаление просмотры не трогает
+    @Override
+    public List<BatchResult> applyBatch(List<BatchOperation> operations) {
+        List<Runnable> undo = new ArrayList<>();
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                results.add(BatchResult.applied(i, apply(operations.get(i), undo)));
+            } catch (RuntimeException e) {
+                //на каждую применённую операцию ровно одна запись отката
+                String[] undoErrors = new String[undo.size()];
+                for (int j = undo.size() - 1; j >= 0; j--) {
+                    try {
+                        undo.get(j).run();
+                    } catch (RuntimeException undoError) {
+                        undoErrors[j] = String.valueOf(undoError.getMessage());
+                    }
+                }
+                List<BatchResult> failed = new ArrayList<>(operations.size());
+                for (int j = 0; j < results.size(); j++) {
+                    BatchResult result = results.get(j);
+                    failed.add(undoErrors[j] == null
+                            ? new BatchResult(result.index(), result.id(), BatchResult.Outcome.ROLLED_BACK, null)
+                            : new BatchResult(result.index(), result.id(), BatchResult.Outcome.ROLLBACK_FAILED,
+                            undoErrors[j]));
+                }
+                failed.add(new BatchResult(i, operations.get(i).id(), BatchResult.Outcome.FAILED, e.getMessage()));
+                for (int j = i + 1; j < operations.size(); j++) {
+                    failed.add(new BatchResult(j, operations.get(j).id(), BatchResult.Outcome.SKIPPED, null));
+                }
+                return failed;
+            }
         }
+        return results;
     }
 
-    private int generateId() {
-        return ++nextId;
+    private int apply(BatchOperation operation, List<Runnable> undo) {
+        Task task = operation.task();
+        int id = operation.id();
+        switch (operation.action()) {
+            case CREATE -> {
+                id = switch (operation.type()) {
+                    case TASK -> addNewTask(task);
+                    case SUBTASK -> addNewSubtask((Subtask) task);
+                    case EPIC -> addNewEpic((Epic) task);
+                };
+                int createdId = id;
+                undo.add(() -> deleteAnyById(operation.type(), createdId));
+            }
+            case UPDATE -> {
+                Task old = TaskSnapshot.of(getStored(operation.type(), id)).toTask();
+                switch (operation.type()) {
+                    case TASK -> updateTask(task);
+                    case SUBTASK -> updateSubtask((Subtask) task);
+                    case EPIC -> updateEpic((Epic) task);
+                }
+                undo.add(() -> restore(old));
+            }
+            case DELETE -> {
+                Task old = getStored(operation.type(), id);
+                List<Subtask> oldSubtasks = old instanceof Epic epic ? List.copyOf(epic.getSubtasks()) : List.of();
+                deleteAnyById(operation.type(), id);
+                undo.add(() -> {
+                    restore(old);
+                    oldSubtasks.forEach(this::restore);
+                });
+            }
+        }
+        return id;
     }
 
-    private boolean hasTimeOverlap(Task task1, Task task2) {
-        if (task1.getStartTime() == null || task2.getStartTime() == null) {
-            return false; // задачи без времени не могут пересекаться
+    //чтение без записи в историю
+    private Task getStored(TaskType type, int id) {
+        Task task = switch (type) {
+            case TASK -> tasks.get(id);
+            case SUBTASK -> subtasks.get(id);
+            case EPIC -> epics.get(id);
+        };
+        if (task == null) {
+            throw new NoSuchElementException("Сущность с указанным id не найдена");
+        }
+        return task;
+    }
+
+    private void deleteAnyById(TaskType type, int id) {
+        switch (type) {
+            case TASK -> deleteTaskById(id);
+            case SUBTASK -> deleteSubtaskById(id);
+            case EPIC -> deleteEpicById(id);
+        }
+    }
+
+    //доверенная массовая загрузка в пустой менеджер: сущности кладутся с исходными id без проверки пересечений,
+    //а подзадачи, эпики и индексы по времени собираются один раз в конце
+    protected void bulkLoad(Iterable<? extends Task> loaded) {
+        if (!entities.isEmpty()) {
+            throw new IllegalStateException("Массовая загрузка возможна только в пустой менеджер");
+        }
+        int maxId = 0;
+        for (Task task : loaded) {
+            switch (task.getType()) {
+                case TASK -> store(tasks, task);
+                case SUBTASK -> store(subtasks, (Subtask) task);
+                case EPIC -> store(epics, (Epic) task);
+            }
+            maxId = Math.max(maxId, task.getId());
+        }
+        for (Subtask subtask : subtasks.values()) {
+            Epic epic = epics.get(subtask.getEpicId());
+            if (epic == null) {
+                throw new IllegalArgumentException("Передан неверный id эпика");
+            }
+            epic.addSubtask(subtask);
+        }
+        for (Epic epic : epics.values()) {
+            refreshEpic(epic);
+        }
+        tasks.values().forEach(this::addToPrioritizedTasks);
+        subtasks.values().forEach(this::addToPrioritizedTasks);
+        nextId.accumulateAndGet(maxId, Math::max);
+    }
+
+    //вставка сущности с сохранённым id (загрузка из файла), существующая сущность с тем же id заменяется
+    protected void restore(Task task) {
+        switch (task.getType()) {
+            case TASK -> {
+                removeFromPrioritizedTasks(store(tasks, task));
+                addToPrioritizedTasks(task);
+            }
+            case EPIC -> {
+                Epic epic = (Epic) task;
+                Epic old = store(epics, epic);
+                if (old != null && old != epic) {
+                    old.getSubtasks().forEach(epic::addSubtask);
+                }
+                refreshEpic(epic);
+            }
+            case SUBTASK -> {
+                Subtask subtask = (Subtask) task;
+                Epic epic = epics.get(subtask.getEpicId());
+                if (epic == null) {
+                    throw new IllegalArgumentException("Передан неверный id эпика");
+                }
+                Subtask old = store(subtasks, subtask);
+                if (old != null) {
+                    removeFromPrioritizedTasks(old);
+                    Epic oldEpic = epics.get(old.getEpicId());
+                    if (oldEpic != null) {
+                        oldEpic.removeSubtask(old);
+                        refreshEpic(oldEpic);
+                    }
+                }
+                epic.addSubtask(subtask);
+                addToPrioritizedTasks(subtask);
+                refreshEpic(epic);
+            }
+        }
+        nextId.accumulateAndGet(task.getId(), Math::max);
+    }
+
+    //все изменения хранилищ идут через store/evict, чтобы общий индекс не расходился с ними
+    private <T extends Task> T store(IntMap<T> store, T entity) {
+        entities.put(entity.getId(), entity);
+        return store.put(entity.getId(), entity);
+    }
+
+    private <T extends Task> void evict(IntMap<T> store, int id) {
+        T removed = store.remove(id);
+        if (removed != null && entities.get(id) == removed) {
+            entities.remove(id);
         }
-        LocalDateTime end1 = task1.getEndTime();
-        LocalDateTime end2 = task2.getEndTime();
-        return task1.getStartTime().isBefore(end2) && end1.isAfter(task2.getStartTime());
+    }
+
+    private void evictAll(IntMap<? extends Task> store) {
+        for (Task entity : store.values()) {
+            if (entities.get(entity.getId()) == entity) {
+                entities.remove(entity.getId());
+            }
+        }
+        store.clear();
+    }
+
+    private void refreshEpic(Epic epic) {
+        epic.setStatus(epic.checkStatus());
+        epic.updateTimeFields();
+    }
+
+    //задача-ключ для поиска в prioritizedTasks по паре (startTime, id)
+    private static Task probe(LocalDateTime startTime, int id) {
+        Task probe = new Task(null, null, null, startTime, null);
+        probe.setId(id);
+        return probe;
+    }
+
+    private static <T> List<T> page(Iterator<T> iterator, int limit) {
+        List<T> page = new ArrayList<>(Math.min(limit, 64));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private int generateId() {
+        return nextId.incrementAndGet();
     }
 
     private boolean hasAnyTimeOverlap(Task task) {
-        return prioritizedTasks.stream()
-                .filter(streamTask -> !streamTask.equals(task))
-                .anyMatch(streamTask -> hasTimeOverlap(task, streamTask));
+        if (task.getStartTime() == null) {
+            return false; // задачи без времени не могут пересекаться
+        }
+        return timeIndex.overlapsAnyExcept(task.getStartTime(), task.getEndTime(), task.getId());
     }
 }
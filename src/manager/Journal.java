@@ -0,0 +1,166 @@
+package manager;
+
+import exceptions.ManagerLoadException;
+import exceptions.ManagerSaveException;
+import model.TaskCsv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//журнал изменений: одна строка на каждое изменение менеджера, дописывается в конец файла
+class Journal implements AutoCloseable {
+    private static final long SYNC_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final Path path;
+    private final FsyncPolicy fsyncPolicy;
+    private FileChannel channel;
+    private long lastSyncNanos = System.nanoTime();
+    private boolean unsynced;
+
+    Journal(Path path, FsyncPolicy fsyncPolicy) {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        try {
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    static Path pathFor(Path snapshot) {
+        return snapshot.resolveSibling(snapshot.getFileName() + ".journal");
+    }
+
+    static List<String> readRecords(Path path) {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try {
+            //запись может занимать несколько строк, если в названии или описании есть перевод строки.
+            //запись без перевода строки в конце могла оборваться при сбое и не читается: даже если она
+            //разбирается (DELETE_TASK,12 -> 1), это не то изменение, которое было сделано.
+            //байт \n не встречается внутри многобайтовых символов UTF-8, поэтому хвост отрезается до декодирования
+            byte[] bytes = Files.readAllBytes(path);
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            String text = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes, 0, end)).toString();
+            TaskCsv.Reader reader = new TaskCsv.Reader(text.substring(0, TaskCsv.completeRecordsEnd(text)));
+            List<String> records = new ArrayList<>();
+            while (reader.hasNext()) {
+                records.add(reader.nextRecord());
+            }
+            return records;
+        } catch (IOException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
+    }
+
+    static String record(Operation operation, String payload) {
+        return operation + "," + payload;
+    }
+
+    static String record(Operation operation) {
+        return operation.toString();
+    }
+
+    void append(String record) {
+        append(List.of(record));
+    }
+
+    //несколько записей одним вызовом write и не больше одного fsync
+    void append(List<String> records) {
+        StringBuilder text = new StringBuilder();
+        for (String record : records) {
+            text.append(record).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            unsynced = true;
+            switch (fsyncPolicy) {
+                case ALWAYS -> sync();
+                case EVERY_SECOND -> {
+                    if (System.nanoTime() - lastSyncNanos >= SYNC_INTERVAL_NANOS) {
+                        sync();
+                    }
+                }
+                case NEVER -> {
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    //fsync записей, дописанных после последнего fsync; для EVERY_SECOND вызывается по таймеру
+    void syncPending() {
+        try {
+            if (unsynced) {
+                sync();
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    //закрываю журнал, переношу его записи в target и открываю новый пустой журнал по тому же пути
+    Journal rotateTo(Path target) {
+        close();
+        try {
+            if (Files.exists(target)) {
+                //предыдущее сжатие не завершилось, его записи ещё не попали в снимок
+                Files.write(target, Files.readAllBytes(path), StandardOpenOption.APPEND);
+                Files.delete(path);
+            } else {
+                Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+        return new Journal(path, fsyncPolicy);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (unsynced && fsyncPolicy != FsyncPolicy.NEVER) {
+                sync();
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        lastSyncNanos = System.nanoTime();
+        unsynced = false;
+    }
+
+    enum Operation {
+        PUT,
+        DELETE_TASK,
+        DELETE_SUBTASK,
+        DELETE_EPIC,
+        DELETE_SUBTASKS_BY_EPIC,
+        DELETE_ALL_TASKS,
+        DELETE_ALL_SUBTASKS,
+        DELETE_ALL_EPICS
+    }
+}
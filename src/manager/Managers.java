@@ -6,16 +6,47 @@ import history.InMemoryHistoryManager;
 import java.nio.file.Path;
 
 public class Managers {
+    //по умолчанию история, как и раньше, без ограничения; ограничение задаётся явно
+    public static final int DEFAULT_HISTORY_CAPACITY = InMemoryHistoryManager.UNBOUNDED;
+
     public static TaskManager getDefault() {
         return new InMemoryTaskManager();
     }
 
+    public static TaskManager getDefault(int historyCapacity) {
+        return new InMemoryTaskManager(historyCapacity);
+    }
+
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager();
+    }
+
+    public static TaskManager getConcurrent(int historyCapacity) {
+        return new ConcurrentTaskManager(historyCapacity);
+    }
+
     public static HistoryManager getDefaultHistory() {
-        return new InMemoryHistoryManager();
+        return getDefaultHistory(DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public static HistoryManager getDefaultHistory(int capacity) {
+        return new InMemoryHistoryManager(capacity);
     }
 
     public static FileBackedTaskManager getDefaultSaving(Path filename) {
         return new FileBackedTaskManager(filename);
     }
+
+    public static FileBackedTaskManager getDefaultSaving(Path filename, FsyncPolicy fsyncPolicy) {
+        return FileBackedTaskManager.createJournaled(filename, fsyncPolicy);
+    }
+
+    public static FileBackedTaskManager getDefaultSaving(Path filename, SnapshotFormat format) {
+        return new FileBackedTaskManager(filename, format);
+    }
+
+    public static FileBackedTaskManager getDefaultSaving(Path filename, FsyncPolicy fsyncPolicy, SnapshotFormat format) {
+        return FileBackedTaskManager.createJournaled(filename, fsyncPolicy, format);
+    }
 }
 
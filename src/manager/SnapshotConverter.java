@@ -0,0 +1,48 @@
+package manager;
+
+import exceptions.ManagerLoadException;
+import exceptions.ManagerSaveException;
+import model.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//перевод файла-снимка между CSV и двоичным форматом; формат исходного файла определяется по содержимому.
+//журнал рядом со снимком не переносится, поэтому конвертировать нужно файл остановленного менеджера
+public final class SnapshotConverter {
+
+    private SnapshotConverter() {
+    }
+
+    public static void convert(Path source, Path target, SnapshotFormat format) {
+        byte[] converted;
+        try {
+            List<Task> tasks = new ArrayList<>();
+            SnapshotReader.open(source).forEachRemaining(tasks::add);
+            converted = FileBackedTaskManager.encode(tasks, format);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(temp, converted);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    //java -cp java-kanban-1.0.jar manager.SnapshotConverter tasks.csv tasks.bin binary
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Использование: SnapshotConverter <исходный файл> <новый файл> <csv|binary>");
+            System.exit(2);
+        }
+        convert(Path.of(args[0]), Path.of(args[1]), SnapshotFormat.valueOf(args[2].toUpperCase(Locale.ROOT)));
+    }
+}
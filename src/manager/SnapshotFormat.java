@@ -0,0 +1,7 @@
+package manager;
+
+//формат файла-снимка; при загрузке формат определяется по содержимому
+public enum SnapshotFormat {
+    CSV,
+    BINARY
+}
@@ -0,0 +1,231 @@
+package manager;
+
+import model.Task;
+import model.TaskBinary;
+import model.TaskCsv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+//потоковое чтение снимка: файл отображается в память, записи разбираются по одной.
+//двоичный снимок читается прямо из отображения, CSV декодируется кусками фиксированного размера,
+//поэтому кроме самих задач куча не растёт с размером файла.
+//отображение снимается только сборщиком мусора, а Windows не даёт заменить отображённый файл,
+//поэтому там снимок читается в кучу: иначе следующая запись снимка через rename падала бы
+final class SnapshotReader implements Iterator<Task> {
+    private static final boolean MAPPING_LOCKS_FILE = System.getProperty("os.name", "").startsWith("Windows");
+    private static final int CHUNK_CHARS = 64 * 1024;
+    //меньше этого кусок не режется: на мелких файлах параллельный разбор только мешает
+    private static final int MIN_PARALLEL_CHUNK_BYTES = 1 << 20;
+
+    private static final byte[] LEGACY_HEADER = TaskCsv.LEGACY_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuffer bytes;
+    private final boolean legacy;
+    private TaskBinary.Reader binary;
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+    private TaskCsv.Reader csv;
+    private int filled;
+    private boolean decoded;
+    private boolean headerSkipped;
+
+    private SnapshotReader(ByteBuffer bytes) {
+        this(bytes, false, isLegacyCsv(bytes));
+    }
+
+    //кусок CSV из середины файла заголовка не содержит, поэтому формат строк передаётся явно
+    private SnapshotReader(ByteBuffer bytes, boolean headerSkipped, boolean legacy) {
+        this.bytes = bytes;
+        this.headerSkipped = headerSkipped;
+        this.legacy = legacy;
+        if (TaskBinary.isBinary(bytes)) {
+            binary = new TaskBinary.Reader(bytes);
+        } else {
+            decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            chars = CharBuffer.allocate(CHUNK_CHARS);
+        }
+    }
+
+    static SnapshotReader open(Path path) throws IOException {
+        return new SnapshotReader(map(path));
+    }
+
+    //отображение остаётся действительным и после закрытия канала
+    static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Файл снимка больше 2 ГБ: " + path);
+            }
+            if (MAPPING_LOCKS_FILE) {
+                return ByteBuffer.wrap(Files.readAllBytes(path));
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    static SnapshotFormat formatOf(ByteBuffer bytes) {
+        return TaskBinary.isBinary(bytes) ? SnapshotFormat.BINARY : SnapshotFormat.CSV;
+    }
+
+    //CSV без пометки формата в заголовке записан до появления кавычек: кавычки в нём не парные
+    static boolean isLegacyCsv(ByteBuffer bytes) {
+        int base = bytes.position();
+        if (bytes.remaining() < LEGACY_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < LEGACY_HEADER.length; i++) {
+            if (bytes.get(base + i) != LEGACY_HEADER[i]) {
+                return false;
+            }
+        }
+        int next = base + LEGACY_HEADER.length;
+        return next == bytes.limit() || bytes.get(next) == '\n' || bytes.get(next) == '\r';
+    }
+
+    //большой CSV режется на куски по границам записей и разбирается в общем пуле fork-join;
+    //порядок записей сохраняется. двоичные записи не размечены, поэтому читаются подряд
+    static Iterable<Task> readAll(ByteBuffer bytes, int parallelism) {
+        int size = bytes.remaining();
+        int chunks = Math.min(parallelism * 4, size / MIN_PARALLEL_CHUNK_BYTES);
+        if (formatOf(bytes) == SnapshotFormat.BINARY || parallelism < 2 || chunks < 2) {
+            return () -> new SnapshotReader(bytes);
+        }
+        boolean legacy = isLegacyCsv(bytes);
+        int[] bounds = chunkBounds(bytes, chunks, legacy);
+        List<List<Task>> parsed = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    List<Task> tasks = new ArrayList<>();
+                    ByteBuffer chunk = bytes.slice(bytes.position() + bounds[i], bounds[i + 1] - bounds[i]);
+                    new SnapshotReader(chunk, i > 0, legacy).forEachRemaining(tasks::add);
+                    return tasks;
+                })
+                .toList();
+        return () -> parsed.stream().flatMap(List::stream).iterator();
+    }
+
+    //граница куска - начало первой записи после равномерной отметки. чтобы знать, не внутри ли кавычек
+    //отметка, кавычки считаются по кускам параллельно и складываются префиксом. байты '"' и '\n'
+    //в UTF-8 не встречаются внутри многобайтовых символов, поэтому куски можно резать по байтам.
+    //в старом файле кавычки не экранированы, там граница - просто следующий перевод строки
+    private static int[] chunkBounds(ByteBuffer bytes, int chunks, boolean legacy) {
+        int size = bytes.remaining();
+        int base = bytes.position();
+        int[] marks = new int[chunks + 1];
+        for (int i = 0; i <= chunks; i++) {
+            marks[i] = (int) ((long) size * i / chunks);
+        }
+        int[] quotes = legacy ? new int[chunks] : IntStream.range(0, chunks)
+                .parallel()
+                .map(i -> {
+                    int count = 0;
+                    for (int j = marks[i]; j < marks[i + 1]; j++) {
+                        if (bytes.get(base + j) == '"') {
+                            count++;
+                        }
+                    }
+                    return count;
+                })
+                .toArray();
+        boolean[] quotedAtMark = new boolean[chunks];
+        for (int i = 1; i < chunks && !legacy; i++) {
+            quotedAtMark[i] = quotedAtMark[i - 1] ^ ((quotes[i - 1] & 1) == 1);
+        }
+        int[] bounds = IntStream.rangeClosed(0, chunks)
+                .parallel()
+                .map(i -> i == 0 || i == chunks
+                        ? marks[i]
+                        : recordStartAfter(bytes, base, marks[i], quotedAtMark[i], legacy))
+                .toArray();
+        //запись длиннее куска может перекрыть следующую отметку
+        for (int i = 1; i <= chunks; i++) {
+            bounds[i] = Math.max(bounds[i], bounds[i - 1]);
+        }
+        return bounds;
+    }
+
+    private static int recordStartAfter(ByteBuffer bytes, int base, int from, boolean quoted, boolean legacy) {
+        int size = bytes.remaining();
+        for (int j = from; j < size; j++) {
+            byte b = bytes.get(base + j);
+            if (b == '"' && !legacy) {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                return j + 1;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (binary != null) {
+            return binary.hasNext();
+        }
+        while (csv == null || !csv.hasNext()) {
+            if (decoded && csv != null) {
+                return false;
+            }
+            nextChunk();
+        }
+        return true;
+    }
+
+    @Override
+    public Task next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Записи снимка закончились");
+        }
+        return binary != null ? binary.next() : csv.next();
+    }
+
+    //переношу недочитанный хвост в начало буфера, декодирую следующую порцию и оставляю в ней только целые записи
+    private void nextChunk() {
+        if (csv != null) {
+            chars.limit(filled).position(csv.position());
+            chars.compact();
+        }
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, true);
+            if (result.isError()) {
+                throw new IllegalArgumentException("Неверная кодировка UTF-8 в снимке на позиции " + bytes.position());
+            }
+            decoded = result.isUnderflow();
+            if (decoded) {
+                decoder.flush(chars);
+            }
+            chars.flip();
+            filled = chars.limit();
+            int end = decoded ? chars.limit() : TaskCsv.completeRecordsEnd(chars, legacy);
+            if (end > 0 || decoded) {
+                chars.limit(end);
+                csv = new TaskCsv.Reader(chars, 0, legacy);
+                if (!headerSkipped && csv.hasNext()) {
+                    csv.nextRecord();
+                    headerSkipped = true;
+                }
+                return;
+            }
+            //запись длиннее буфера
+            chars = CharBuffer.allocate(chars.capacity() * 2).put(chars);
+        }
+    }
+}
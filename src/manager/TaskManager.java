@@ -3,20 +3,57 @@ package manager;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TaskSnapshot;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Consumer;
 
 public interface TaskManager {
     void addToPrioritizedTasks(Task task);
 
     List<Task> getPrioritizedTasks();
 
-    List<Task> getHistory();
+    //чтение приоритетного списка без полной копии: стоимость пропорциональна прочитанной части
+    NavigableSet<Task> getPrioritizedView();
+
+    NavigableSet<Task> prioritizedHeadUntil(LocalDateTime time);
+
+    NavigableSet<Task> prioritizedTailFrom(LocalDateTime time);
+
+    NavigableSet<Task> prioritizedBetween(LocalDateTime from, LocalDateTime to);
+
+    //постраничное чтение: не больше limit элементов строго после курсора
+    List<Task> getPrioritizedTasksPage(LocalDateTime afterStartTime, int afterId, int limit);
+
+    List<TaskSnapshot> getHistory();
+
+    //чтение истории без промежуточных копий, от старых просмотров к новым
+    void forEachInHistory(Consumer<? super TaskSnapshot> action);
+
+    List<TaskSnapshot> getRecentHistory(int n);
+
+    //ограничение истории и число задач, вытесненных из неё при переполнении
+    int getHistoryCapacity();
+
+    long getHistoryEvictionCount();
+
+    //атомарное применение пакета: либо применяются все операции, либо ни одна
+    List<BatchResult> applyBatch(List<BatchOperation> operations);
+
+    //поиск по id среди задач, подзадач и эпиков сразу, тип виден по getType()
+    Task getAnyById(int id);
 
     //методы для задач
     Map<Integer, Task> getTasks();
 
+    List<Task> getTasksPage(int afterId, int limit);
+
+    //обход всех задач по одной, без промежуточной копии всей коллекции
+    void forEachTask(Consumer<? super Task> action);
+
     int addNewTask(Task task);
 
     Task getTaskById(int id);
@@ -30,6 +67,10 @@ public interface TaskManager {
     //методы для подзадач
     Map<Integer, Subtask> getSubtasks();
 
+    List<Subtask> getSubtasksPage(int afterId, int limit);
+
+    void forEachSubtask(Consumer<? super Subtask> action);
+
     void deleteAllSubtasks();
 
     void deleteSubtasksByEpicId(int id);
@@ -45,6 +86,10 @@ public interface TaskManager {
     //методы для эпиков
     Map<Integer, Epic> getEpics();
 
+    List<Epic> getEpicsPage(int afterId, int limit);
+
+    void forEachEpic(Consumer<? super Epic> action);
+
     void deleteAllEpics();
 
     Epic getEpicById(int id);
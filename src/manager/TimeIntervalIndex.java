@@ -0,0 +1,158 @@
+package manager;
+
+import model.Task;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+//дерево интервалов (декартово дерево по startTime + id, в узлах хранится максимальный endTime поддерева)
+class TimeIntervalIndex {
+    private final Map<Integer, Node> nodesById = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    void add(Task task) {
+        remove(task.getId());
+        if (task.getStartTime() == null) {
+            return;
+        }
+        //интервал копируется, чтобы изменение задачи "на месте" не ломало индекс
+        Node node = new Node(task.getId(), task.getStartTime(), task.getEndTime(), random.nextInt());
+        root = insert(root, node);
+        nodesById.put(node.id, node);
+    }
+
+    void remove(int id) {
+        Node node = nodesById.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    //есть ли интервал, пересекающийся с [start, end), кроме задачи с excludedId
+    boolean overlapsAnyExcept(LocalDateTime start, LocalDateTime end, int excludedId) {
+        if (start == null) {
+            return false; // задачи без времени не могут пересекаться
+        }
+        return overlaps(root, start, end, excludedId);
+    }
+
+    private boolean overlaps(Node node, LocalDateTime start, LocalDateTime end, int excludedId) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (node.id != excludedId && node.start.isBefore(end) && node.end.isAfter(start)) {
+            return true;
+        }
+        if (overlaps(node.left, start, end, excludedId)) {
+            return true;
+        }
+        //в правом поддереве все интервалы начинаются не раньше node.start
+        return node.start.isBefore(end) && overlaps(node.right, start, end, excludedId);
+    }
+
+    private Node insert(Node current, Node node) {
+        if (current == null) {
+            return node;
+        }
+        if (compare(node, current) < 0) {
+            current.left = insert(current.left, node);
+            if (current.left.priority > current.priority) {
+                current = rotateRight(current);
+            }
+        } else {
+            current.right = insert(current.right, node);
+            if (current.right.priority > current.priority) {
+                current = rotateLeft(current);
+            }
+        }
+        current.update();
+        return current;
+    }
+
+    private Node delete(Node current, Node node) {
+        if (current == null) {
+            return null;
+        }
+        int cmp = compare(node, current);
+        if (cmp < 0) {
+            current.left = delete(current.left, node);
+        } else if (cmp > 0) {
+            current.right = delete(current.right, node);
+        } else {
+            return merge(current.left, current.right);
+        }
+        current.update();
+        return current;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(Node first, Node second) {
+        int cmp = first.start.compareTo(second.start);
+        return cmp != 0 ? cmp : Integer.compare(first.id, second.id);
+    }
+
+    private static class Node {
+        private final int id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(int id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -2,13 +2,17 @@ package model;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class Epic extends Task {
-    private List<Subtask> subtasks = new ArrayList<>();
+    private SubtaskCollection subtasks = new SubtaskCollection();
     private LocalDateTime endTime;
+    //агрегаты по подзадачам, не сериализуются и пересобираются при первом обращении
+    private transient Aggregate aggregate;
 
     public Epic(String name, String description, Status status, LocalDateTime startTime, Duration duration) {
         super(name,
@@ -25,10 +29,49 @@ public class Epic extends Task {
         updateTimeFields();
     }
 
-    public List<Subtask> getSubtasks() {
-        return subtasks == null
-                ? subtasks = new ArrayList<>()
-                : subtasks;
+    public Collection<Subtask> getSubtasks() {
+        return Collections.unmodifiableCollection(subtasks());
+    }
+
+    public Subtask getSubtask(int id) {
+        return subtasks().get(id);
+    }
+
+    public void addSubtask(Subtask subtask) {
+        subtasks().add(subtask);
+        aggregate().add(subtask);
+    }
+
+    public void removeSubtask(Subtask subtask) {
+        removeSubtask(subtask.getId());
+    }
+
+    public void removeSubtask(int id) {
+        if (subtasks().remove(id) != null) {
+            aggregate().remove(id);
+        }
+    }
+
+    //подзадача могла измениться "на месте", поэтому её старый вклад в агрегаты берётся по id
+    public void updateSubtask(Subtask subtask) {
+        if (subtasks().get(subtask.getId()) != null) {
+            addSubtask(subtask);
+        }
+    }
+
+    public void clearSubtasks() {
+        subtasks().clear();
+        aggregate = new Aggregate();
+    }
+
+    //подзадачи копируются вместе с эпиком, чтобы их список нельзя было обойти во время изменения
+    @Override
+    public Epic copy() {
+        Epic copy = new Epic(getId(), getName(), getStatus(), getDescription(), getStartTime(), getDuration(), endTime);
+        subtasks().forEach(subtask -> copy.addSubtask(subtask.copy()));
+        copy.setTimeFields(getStartTime(), getDuration(), endTime);
+        copy.setType(getType());
+        return copy;
     }
 
     @Override
@@ -46,43 +89,32 @@ public class Epic extends Task {
     }
 
     public Status checkStatus() {
-        if (getSubtasks().isEmpty() || isSameStatus(Status.NEW)) {
+        if (isEmptyWithoutAggregate()) {
+            return Status.NEW;
+        }
+        Aggregate aggregate = aggregate();
+        int total = aggregate.size();
+        if (total == 0 || aggregate.count(Status.NEW) == total) {
             return Status.NEW;
-        } else if (isSameStatus(Status.DONE)) {
+        } else if (aggregate.count(Status.DONE) == total) {
             return Status.DONE;
         } else {
             return Status.IN_PROGRESS;
         }
     }
 
-
-    private boolean isSameStatus(Status status) {
-        return getSubtasks().stream()
-                .allMatch(subtask -> subtask.getStatus() == status);
-    }
-
+    //эпику без подзадач (снимок истории, строка файла) агрегаты не создаются
     public void updateTimeFields() {
-        if (getSubtasks().isEmpty()) {
+        Aggregate aggregate = isEmptyWithoutAggregate() ? null : aggregate();
+        if (aggregate == null || aggregate.size() == 0) {
             setStartTime(null);
             endTime = null;
             setDuration(Duration.ZERO);
             return;
         }
 
-        setStartTime(
-                subtasks.stream()
-                        .map(Subtask::getStartTime)
-                        .filter(Objects::nonNull)
-                        .min(LocalDateTime::compareTo)
-                        .orElse(null)
-        );
-
-        endTime = subtasks.stream()
-                .map(Subtask::getEndTime)
-                .filter(Objects::nonNull)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
+        setStartTime(aggregate.minStart());
+        endTime = aggregate.maxEnd();
         setDuration(getStartTime() == null ? Duration.ZERO : Duration.between(getStartTime(), endTime));
     }
 
@@ -90,4 +122,106 @@ public class Epic extends Task {
     public LocalDateTime getEndTime() {
         return endTime;
     }
+
+    //время эпика без подзадач, например при восстановлении из снимка истории
+    void setTimeFields(LocalDateTime startTime, Duration duration, LocalDateTime endTime) {
+        setStartTime(startTime);
+        setDuration(duration);
+        this.endTime = endTime;
+    }
+
+    //эпик, созданный через gson, приходит без инициализированных полей
+    private SubtaskCollection subtasks() {
+        return subtasks == null
+                ? subtasks = new SubtaskCollection()
+                : subtasks;
+    }
+
+    private boolean isEmptyWithoutAggregate() {
+        return aggregate == null && subtasks().isEmpty();
+    }
+
+    private Aggregate aggregate() {
+        if (aggregate == null) {
+            aggregate = new Aggregate();
+            subtasks().forEach(aggregate::add);
+        }
+        return aggregate;
+    }
+
+    //счётчики статусов и мультимножества времён начала и окончания подзадач
+    private static class Aggregate {
+        private final Map<Integer, Contribution> contributions = new HashMap<>();
+        private final int[] statusCounts = new int[Status.values().length];
+        private final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+        private final TreeMap<LocalDateTime, Integer> ends = new TreeMap<>();
+
+        boolean contains(int id) {
+            return contributions.containsKey(id);
+        }
+
+        int size() {
+            return contributions.size();
+        }
+
+        int count(Status status) {
+            return statusCounts[status.ordinal()];
+        }
+
+        LocalDateTime minStart() {
+            return starts.isEmpty() ? null : starts.firstKey();
+        }
+
+        LocalDateTime maxEnd() {
+            return ends.isEmpty() ? null : ends.lastKey();
+        }
+
+        void add(Subtask subtask) {
+            LocalDateTime start = subtask.getStartTime();
+            Contribution contribution = new Contribution(subtask.getStatus(), start,
+                    start == null ? null : subtask.getEndTime());
+            Contribution previous = contributions.put(subtask.getId(), contribution);
+            if (previous != null) {
+                unaccount(previous);
+            }
+            count(contribution.status(), 1);
+            increment(starts, contribution.start());
+            increment(ends, contribution.end());
+        }
+
+        void remove(int id) {
+            Contribution contribution = contributions.remove(id);
+            if (contribution != null) {
+                unaccount(contribution);
+            }
+        }
+
+        private void unaccount(Contribution contribution) {
+            count(contribution.status(), -1);
+            decrement(starts, contribution.start());
+            decrement(ends, contribution.end());
+        }
+
+        //подзадача без статуса не считается ни новой, ни завершённой
+        private void count(Status status, int delta) {
+            if (status != null) {
+                statusCounts[status.ordinal()] += delta;
+            }
+        }
+
+        private static void increment(TreeMap<LocalDateTime, Integer> times, LocalDateTime time) {
+            if (time != null) {
+                times.merge(time, 1, Integer::sum);
+            }
+        }
+
+        private static void decrement(TreeMap<LocalDateTime, Integer> times, LocalDateTime time) {
+            if (time != null) {
+                times.computeIfPresent(time, (key, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    private record Contribution(Status status, LocalDateTime start, LocalDateTime end) {
+    }
 }
@@ -26,6 +26,13 @@ public class Subtask extends Task {
         }
     }
 
+    @Override
+    public Subtask copy() {
+        Subtask copy = new Subtask(getId(), getName(), getStatus(), getDescription(), epicId, getStartTime(), getDuration());
+        copy.setType(getType());
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "Subtask{" +
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//подзадачи эпика в порядке добавления с доступом по id, gson читает и пишет её как обычный массив
+class SubtaskCollection extends AbstractCollection<Subtask> {
+    private final Map<Integer, Subtask> subtasks = new LinkedHashMap<>();
+
+    //подзадача с уже известным id заменяется на своём месте
+    @Override
+    public boolean add(Subtask subtask) {
+        return subtasks.put(subtask.getId(), subtask) != subtask;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Subtask subtask && subtasks.containsKey(subtask.getId());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Subtask subtask && remove(subtask.getId()) != null;
+    }
+
+    Subtask remove(int id) {
+        return subtasks.remove(id);
+    }
+
+    Subtask get(int id) {
+        return subtasks.get(id);
+    }
+
+    @Override
+    public Iterator<Subtask> iterator() {
+        return subtasks.values().iterator();
+    }
+
+    @Override
+    public int size() {
+        return subtasks.size();
+    }
+
+    @Override
+    public void clear() {
+        subtasks.clear();
+    }
+}
@@ -38,22 +38,7 @@ public class Task {
         if (value == null || value.isEmpty()) {
             return null;
         }
-        String[] splitted = value.split(",", -1);
-        int id = Integer.parseInt(splitted[0]);
-        TaskType type = TaskType.valueOf(splitted[1]);
-        String name = splitted[2];
-        Status status = Status.valueOf(splitted[3]);
-        String description = splitted[4];
-        LocalDateTime startTime = splitted[6].isBlank() ? null : LocalDateTime.parse(splitted[6]);
-        Duration duration = splitted[7].isBlank() ? Duration.ZERO : Duration.ofMinutes(Long.parseLong(splitted[7]));
-        return switch (type) {
-            case TASK -> new Task(id, name, status, description, TASK, startTime, duration);
-            case EPIC -> new Epic(id, name, status, description, startTime, duration, null);
-            case SUBTASK -> {
-                int epicId = Integer.parseInt(splitted[5]);
-                yield new Subtask(id, name, status, description, epicId, startTime, duration);
-            }
-        };
+        return TaskCsv.parse(value);
     }
 
     public TaskType getType() {
@@ -140,6 +125,11 @@ public class Task {
         return duration == null || duration.isZero() ? startTime : startTime.plus(duration);
     }
 
+    //независимая копия для выдачи наружу, пока оригинал может меняться в другом потоке
+    public Task copy() {
+        return new Task(id, name, status, description, type, startTime, duration);
+    }
+
     public void updateFrom(Task other) {
         if (other.getName() != null) {
             this.name = other.getName();
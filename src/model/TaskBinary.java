@@ -0,0 +1,227 @@
+package model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//двоичный снимок: сигнатура KNBN, байт версии, затем записи подряд до конца файла.
+//запись: тип (ordinal), id (varint), name, статус (ordinal + 1, 0 - нет), description,
+//epicId (только у подзадач), startTime (минуты от эпохи UTC), duration (минуты).
+//строки - длина + 1 (0 - null) и байты UTF-8; знаковые числа - zigzag varint
+public final class TaskBinary {
+    public static final int VERSION = 1;
+    private static final byte[] MAGIC = {'K', 'N', 'B', 'N'};
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private TaskBinary() {
+    }
+
+    public static boolean isBinary(byte[] content) {
+        return content.length >= MAGIC.length
+                && Arrays.equals(content, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    public static boolean isBinary(ByteBuffer content) {
+        if (content.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content.get(content.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        public Writer() {
+            this(1024);
+        }
+
+        public Writer(int expectedBytes) {
+            buffer = new byte[Math.max(expectedBytes, 16)];
+            for (byte b : MAGIC) {
+                writeByte(b);
+            }
+            writeByte(VERSION);
+        }
+
+        public void write(Task task) {
+            writeByte(task.getType().ordinal());
+            writeVarLong(task.getId());
+            writeString(task.getName());
+            writeByte(task.getStatus() == null ? 0 : task.getStatus().ordinal() + 1);
+            writeString(task.getDescription());
+            if (task.getType() == TaskType.SUBTASK) {
+                writeVarLong(((Subtask) task).getEpicId());
+            }
+            writeTime(task.getStartTime());
+            Duration duration = task.getDuration();
+            writeVarLong(zigzag(duration == null ? 0 : duration.toMinutes()));
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        //0 - нет времени; иначе (минуты << 1 | есть секунды) + 1, секунды и наносекунды пишутся следом
+        private void writeTime(LocalDateTime time) {
+            if (time == null) {
+                writeVarLong(0);
+                return;
+            }
+            long minutes = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+            boolean precise = time.getSecond() != 0 || time.getNano() != 0;
+            writeVarLong((zigzag(minutes) << 1 | (precise ? 1 : 0)) + 1);
+            if (precise) {
+                writeVarLong(time.getSecond());
+                writeVarLong(time.getNano());
+            }
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    //чтение записей из буфера: массив в куче читается без копирования, прямой буфер - через общий массив
+    public static final class Reader {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[64];
+
+        public Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+            if (!isBinary(buffer)) {
+                throw new IllegalArgumentException("Файл не является двоичным снимком");
+            }
+            buffer.position(buffer.position() + MAGIC.length);
+            int version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+            }
+        }
+
+        public boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Записи снимка закончились");
+            }
+            int start = buffer.position();
+            try {
+                TaskType type = TYPES[buffer.get()];
+                int id = readInt();
+                String name = readString();
+                int status = buffer.get();
+                Status taskStatus = status == 0 ? null : STATUSES[status - 1];
+                String description = readString();
+                int epicId = type == TaskType.SUBTASK ? readInt() : 0;
+                LocalDateTime startTime = readTime();
+                Duration duration = Duration.ofMinutes(unzigzag(readVarLong()));
+                return switch (type) {
+                    case TASK -> new Task(id, name, taskStatus, description, TaskType.TASK, startTime, duration);
+                    case EPIC -> new Epic(id, name, taskStatus, description, startTime, duration, null);
+                    case SUBTASK -> new Subtask(id, name, taskStatus, description, epicId, startTime, duration);
+                };
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+                throw new IllegalArgumentException("Повреждённая запись снимка на позиции " + start, e);
+            }
+        }
+
+        private LocalDateTime readTime() {
+            long value = readVarLong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            long epochSecond = Math.multiplyExact(unzigzag(value >>> 1), 60);
+            int second = 0;
+            int nano = 0;
+            if ((value & 1) != 0) {
+                second = readInt();
+                nano = readInt();
+            }
+            return LocalDateTime.ofEpochSecond(epochSecond + second, nano, ZoneOffset.UTC);
+        }
+
+        private String readString() {
+            int length = readInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (buffer.hasArray()) {
+                int offset = buffer.arrayOffset() + buffer.position();
+                buffer.position(buffer.position() + length);
+                return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int readInt() {
+            return Math.toIntExact(readVarLong());
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new ArithmeticException("Слишком длинное число");
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
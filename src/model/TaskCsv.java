@@ -0,0 +1,398 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+//строки файла менеджера: id,type,name,status,description,epic,startTime,duration
+//поля с запятой, кавычкой или переводом строки берутся в кавычки, кавычка внутри удваивается.
+//название и описание: пустое поле - null, пустая строка пишется как "", как и в двоичном снимке они различаются.
+//такой формат помечен в заголовке. старые файлы писались без кавычек: они читаются построчно,
+//кавычка в них - обычный символ, а пустые название и описание - пустые строки
+public final class TaskCsv {
+    public static final String LEGACY_HEADER = "id,type,name,status,description,epic,startTime,duration";
+    public static final String HEADER = LEGACY_HEADER + ",quoted";
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private TaskCsv() {
+    }
+
+    public static String format(Task task) {
+        StringBuilder row = new StringBuilder(64);
+        append(row, task);
+        return row.toString();
+    }
+
+    public static void append(StringBuilder row, Task task) {
+        row.append(task.getId()).append(',');
+        row.append(task.getType()).append(',');
+        appendText(row, task.getName());
+        row.append(',');
+        if (task.getStatus() != null) {
+            row.append(task.getStatus());
+        }
+        row.append(',');
+        appendText(row, task.getDescription());
+        row.append(',');
+        if (task instanceof Subtask subtask) {
+            row.append(subtask.getEpicId());
+        }
+        row.append(',');
+        if (task.getStartTime() != null) {
+            appendTime(row, task.getStartTime());
+        }
+        row.append(',');
+        if (task.getDuration() != null && !task.getDuration().isZero()) {
+            row.append(task.getDuration().toMinutes());
+        }
+    }
+
+    public static Task parse(CharSequence text) {
+        return parse(text, 0);
+    }
+
+    public static Task parse(CharSequence text, int start) {
+        return new Reader(text, start).next();
+    }
+
+    //граница после последней целой записи: перевод строки вне кавычек; 0 - целых записей нет
+    public static int completeRecordsEnd(CharSequence text) {
+        return completeRecordsEnd(text, false);
+    }
+
+    public static int completeRecordsEnd(CharSequence text, boolean legacy) {
+        int end = 0;
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' && !legacy) {
+                quoted = !quoted;
+            } else if (c == '\n' && !quoted) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static void appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //тот же вид, что у LocalDateTime.toString, но без промежуточных строк для обычного случая
+    private static void appendTime(StringBuilder row, LocalDateTime time) {
+        if (time.getYear() < 0 || time.getYear() > 9999 || time.getNano() != 0) {
+            row.append(time);
+            return;
+        }
+        appendDigits(row, time.getYear(), 4).append('-');
+        appendDigits(row, time.getMonthValue(), 2).append('-');
+        appendDigits(row, time.getDayOfMonth(), 2).append('T');
+        appendDigits(row, time.getHour(), 2).append(':');
+        appendDigits(row, time.getMinute(), 2);
+        if (time.getSecond() != 0) {
+            appendDigits(row.append(':'), time.getSecond(), 2);
+        }
+    }
+
+    private static StringBuilder appendDigits(StringBuilder row, int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            row.append((char) ('0' + value / divisor % 10));
+        }
+        return row;
+    }
+
+    //последовательное чтение строк из текста файла или буфера; поля разбираются на месте, без split
+    public static final class Reader {
+        private final CharSequence text;
+        private final int limit;
+        private final boolean legacy;
+        private int pos;
+
+        public Reader(CharSequence text) {
+            this(text, 0);
+        }
+
+        public Reader(CharSequence text, int start) {
+            this(text, start, false);
+        }
+
+        //legacy - строки старого файла без кавычек
+        public Reader(CharSequence text, int start, boolean legacy) {
+            this.text = text;
+            this.limit = text.length();
+            this.legacy = legacy;
+            this.pos = start;
+        }
+
+        public int position() {
+            return pos;
+        }
+
+        //пропускаю пустые строки
+        public boolean hasNext() {
+            while (pos < limit && isLineBreak(text.charAt(pos))) {
+                pos++;
+            }
+            return pos < limit;
+        }
+
+        //запись целиком, с учётом переводов строк внутри кавычек; оборванная запись возвращается как есть
+        public String nextRecord() {
+            int start = pos;
+            boolean quoted = false;
+            while (pos < limit) {
+                char c = text.charAt(pos);
+                if (c == '"' && !legacy) {
+                    quoted = !quoted;
+                } else if (!quoted && isLineBreak(c)) {
+                    break;
+                }
+                pos++;
+            }
+            String record = text.subSequence(start, pos).toString();
+            skipLineBreak();
+            return record;
+        }
+
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Строки CSV закончились");
+            }
+            int start = pos;
+            try {
+                int id = readInt();
+                TaskType type = readEnum(TYPES);
+                String name = readText();
+                Status status = readStatus();
+                String description = readText();
+                int epicId = type == TaskType.SUBTASK ? readInt() : skipEmpty();
+                LocalDateTime startTime = readTime();
+                Duration duration = readDuration();
+                skipLineBreak();
+                return switch (type) {
+                    case TASK -> new Task(id, name, status, description, TaskType.TASK, startTime, duration);
+                    case EPIC -> new Epic(id, name, status, description, startTime, duration, null);
+                    case SUBTASK -> new Subtask(id, name, status, description, epicId, startTime, duration);
+                };
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Неверная строка CSV: "
+                        + text.subSequence(start, Math.min(limit, start + 200)), e);
+            }
+        }
+
+        private int readInt() {
+            int end = fieldEnd();
+            int value = parseInt(end);
+            endField(end);
+            return value;
+        }
+
+        private int parseInt(int end) {
+            return Math.toIntExact(parseLong(end));
+        }
+
+        private long parseLong(int end) {
+            int i = pos;
+            boolean negative = i < end && text.charAt(i) == '-';
+            if (negative) {
+                i++;
+            }
+            if (i == end) {
+                throw new IllegalArgumentException("Пустое число");
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("Неверное число");
+                }
+                value = Math.addExact(Math.multiplyExact(value, 10), digit);
+            }
+            return negative ? -value : value;
+        }
+
+        //пустой статус допустим: конструктор задачи подставит NEW
+        private Status readStatus() {
+            if (fieldEnd() == pos) {
+                endField(pos);
+                return null;
+            }
+            return readEnum(STATUSES);
+        }
+
+        private <E extends Enum<E>> E readEnum(E[] values) {
+            int end = fieldEnd();
+            int length = end - pos;
+            for (E value : values) {
+                String name = value.name();
+                if (name.length() == length && regionMatches(name)) {
+                    endField(end);
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Неизвестное значение");
+        }
+
+        private String readText() {
+            if (!legacy && pos < limit && text.charAt(pos) == '"') {
+                return readQuoted();
+            }
+            int end = fieldEnd();
+            String value = end == pos && !legacy ? null : text.subSequence(pos, end).toString();
+            endField(end);
+            return value;
+        }
+
+        private String readQuoted() {
+            StringBuilder value = new StringBuilder();
+            pos++;
+            while (true) {
+                if (pos >= limit) {
+                    throw new IllegalArgumentException("Незакрытая кавычка");
+                }
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    if (pos < limit && text.charAt(pos) == '"') {
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+                value.append(c);
+            }
+            if (pos < limit && text.charAt(pos) != ',') {
+                throw new IllegalArgumentException("Лишние символы после закрывающей кавычки");
+            }
+            endField(pos);
+            return value.toString();
+        }
+
+        private int skipEmpty() {
+            endField(fieldEnd());
+            return 0;
+        }
+
+        private LocalDateTime readTime() {
+            int end = fieldEnd();
+            LocalDateTime time = end == pos ? null : parseTime(end);
+            endField(end);
+            return time;
+        }
+
+        //последнее поле: после него ожидается конец строки
+        private Duration readDuration() {
+            int end = fieldEnd();
+            if (end == pos) {
+                if (pos < limit && !isLineBreak(text.charAt(pos))) {
+                    throw new IllegalArgumentException("Лишние поля");
+                }
+                return Duration.ZERO;
+            }
+            long minutes = parseLong(end);
+            pos = end;
+            if (pos < limit && !isLineBreak(text.charAt(pos))) {
+                throw new IllegalArgumentException("Лишние поля");
+            }
+            return Duration.ofMinutes(minutes);
+        }
+
+        //yyyy-MM-ddTHH:mm[:ss] разбирается вручную, остальные формы - через LocalDateTime.parse
+        private LocalDateTime parseTime(int end) {
+            int length = end - pos;
+            if ((length == 16 || length == 19)
+                    && text.charAt(pos + 4) == '-' && text.charAt(pos + 7) == '-' && text.charAt(pos + 10) == 'T'
+                    && text.charAt(pos + 13) == ':' && (length == 16 || text.charAt(pos + 16) == ':')) {
+                return LocalDateTime.of(digits(pos, 4), digits(pos + 5, 2), digits(pos + 8, 2),
+                        digits(pos + 11, 2), digits(pos + 14, 2), length == 19 ? digits(pos + 17, 2) : 0);
+            }
+            return LocalDateTime.parse(text.subSequence(pos, end));
+        }
+
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("Неверная дата");
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private boolean regionMatches(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                if (text.charAt(pos + i) != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int fieldEnd() {
+            int i = pos;
+            while (i < limit) {
+                char c = text.charAt(i);
+                if (c == ',' || isLineBreak(c)) {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        private void endField(int end) {
+            pos = end;
+            expectComma();
+        }
+
+        private void expectComma() {
+            if (pos >= limit || text.charAt(pos) != ',') {
+                throw new IllegalArgumentException("Не хватает полей");
+            }
+            pos++;
+        }
+
+        private void skipLineBreak() {
+            if (pos < limit && text.charAt(pos) == '\r') {
+                pos++;
+            }
+            if (pos < limit && text.charAt(pos) == '\n') {
+                pos++;
+            }
+        }
+
+        private static boolean isLineBreak(char c) {
+            return c == '\n' || c == '\r';
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+//неизменяемый снимок задачи на момент просмотра, хранится в истории вместо копии задачи
+public record TaskSnapshot(int id,
+                           TaskType type,
+                           String name,
+                           String description,
+                           Status status,
+                           int epicId,
+                           LocalDateTime startTime,
+                           Duration duration,
+                           LocalDateTime endTime) {
+
+    public static TaskSnapshot of(Task task) {
+        TaskType type = task instanceof Subtask
+                ? TaskType.SUBTASK
+                : task instanceof Epic ? TaskType.EPIC : TaskType.TASK;
+        int epicId = task instanceof Subtask subtask ? subtask.getEpicId() : 0;
+        LocalDateTime startTime = task.getStartTime();
+        return new TaskSnapshot(task.getId(), type, task.getName(), task.getDescription(), task.getStatus(),
+                epicId, startTime, task.getDuration(),
+                startTime == null ? null : task.getEndTime());
+    }
+
+    //задача того же типа, что и исходная, со значениями полей из снимка
+    public Task toTask() {
+        return switch (type) {
+            case TASK -> new Task(id, name, status, description, TaskType.TASK, startTime, duration);
+            case SUBTASK -> new Subtask(id, name, status, description, epicId, startTime, duration);
+            case EPIC -> {
+                Epic epic = new Epic(id, name, status, description, startTime, duration, endTime);
+                epic.setTimeFields(startTime, duration, endTime);
+                yield epic;
+            }
+        };
+    }
+}
@@ -2,34 +2,74 @@ package server;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 import manager.TaskManager;
 import model.Status;
+import model.Task;
+import model.TaskSnapshot;
 import server.adapters.DurationAdapter;
 import server.adapters.LocalDateTimeAdapter;
 import server.adapters.StatusAdapter;
+import server.adapters.TaskSnapshotAdapter;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 public class BaseHttpHandler {
     protected static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    protected static final int DEFAULT_PAGE_SIZE = 100;
+    protected static final int MAX_PAGE_SIZE = 1000;
+    protected static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    //Gson неизменяем и потокобезопасен, поэтому экземпляры общие для всех обработчиков
+    private static final Gson COMPACT_GSON = gsonBuilder().create();
+    private static final Gson PRETTY_GSON = gsonBuilder().setPrettyPrinting().create();
     protected final TaskManager taskManager;
-    protected final Gson gson;
+    protected final Gson gson = COMPACT_GSON;
 
     public BaseHttpHandler(TaskManager taskManager) {
         this.taskManager = taskManager;
-        gson = new GsonBuilder()
-                .setPrettyPrinting()
+    }
+
+    private static GsonBuilder gsonBuilder() {
+        return new GsonBuilder()
                 .serializeNulls()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
                 .registerTypeAdapter(Status.class, new StatusAdapter())
-                .create();
+                .registerTypeAdapter(TaskSnapshot.class, new TaskSnapshotAdapter());
+    }
+
+    //значение параметра из строки запроса или null, если его нет
+    protected String getQueryParameter(HttpExchange httpExchange, String name) {
+        String query = httpExchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (URLDecoder.decode(parts[0], DEFAULT_CHARSET).equals(name)) {
+                return parts.length == 2 ? URLDecoder.decode(parts[1], DEFAULT_CHARSET) : "";
+            }
+        }
+        return null;
+    }
+
+    //по умолчанию json компактный, форматированный - только по запросу ?pretty=true
+    protected Gson gsonFor(HttpExchange httpExchange) {
+        String pretty = getQueryParameter(httpExchange, "pretty");
+        return pretty != null && (pretty.isEmpty() || pretty.equals("true")) ? PRETTY_GSON : COMPACT_GSON;
     }
 
     protected void sendText(HttpExchange httpExchange, String text, int statusCode) throws IOException {
@@ -43,6 +83,83 @@ public class BaseHttpHandler {
         }
     }
 
+    //постраничный запрос: ?limit=N и/или ?cursor=<значение из заголовка X-Next-Cursor>
+    protected boolean isPageRequest(HttpExchange httpExchange) {
+        return getQueryParameter(httpExchange, "limit") != null
+                || getQueryParameter(httpExchange, "cursor") != null;
+    }
+
+    protected int getPageLimit(HttpExchange httpExchange) {
+        String limit = getQueryParameter(httpExchange, "limit");
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        int value = Integer.parseInt(limit);
+        if (value < 1 || value > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        return value;
+    }
+
+    //курсор непрозрачен для клиента: это base64 от значения, после которого начинается следующая страница
+    protected String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(DEFAULT_CHARSET));
+    }
+
+    protected String decodeCursor(HttpExchange httpExchange) {
+        String cursor = getQueryParameter(httpExchange, "cursor");
+        return cursor == null ? null : new String(Base64.getUrlDecoder().decode(cursor), DEFAULT_CHARSET);
+    }
+
+    //страница списка с курсором по id: pageQuery получает (afterId, limit)
+    protected void sendIdPage(HttpExchange httpExchange,
+                              BiFunction<Integer, Integer, ? extends List<? extends Task>> pageQuery) throws IOException {
+        int limit;
+        int afterId;
+        try {
+            limit = getPageLimit(httpExchange);
+            String cursor = decodeCursor(httpExchange);
+            afterId = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (IllegalArgumentException e) {
+            sendBadRequest(httpExchange, "Неверные параметры limit или cursor");
+            return;
+        }
+        List<? extends Task> page = pageQuery.apply(afterId, limit);
+        String nextCursor = page.size() < limit ? null : String.valueOf(page.getLast().getId());
+        sendJsonPage(httpExchange, page, nextCursor);
+    }
+
+    protected void sendJsonPage(HttpExchange httpExchange, List<?> page, String nextCursor) throws IOException {
+        if (nextCursor != null) {
+            httpExchange.getResponseHeaders().set(NEXT_CURSOR_HEADER, encodeCursor(nextCursor));
+        }
+        sendJsonArray(httpExchange, page, 200);
+    }
+
+    //большие списки пишутся в ответ по одному элементу (chunked), без промежуточной строки со всем json
+    protected void sendJsonArray(HttpExchange httpExchange, Iterable<?> items, int statusCode) throws IOException {
+        sendJsonArray(httpExchange, items::forEach, statusCode);
+    }
+
+    //source передаёт элементы по одному, например обходом истории без копирования
+    protected void sendJsonArray(HttpExchange httpExchange, Consumer<Consumer<Object>> source,
+                                 int statusCode) throws IOException {
+        httpExchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        httpExchange.sendResponseHeaders(statusCode, 0);
+        Gson responseGson = gsonFor(httpExchange);
+        try (JsonWriter jsonWriter = responseGson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(httpExchange.getResponseBody(), DEFAULT_CHARSET)))
+        ) {
+            jsonWriter.beginArray();
+            source.accept(item -> responseGson.toJson(item, item.getClass(), jsonWriter));
+            jsonWriter.endArray();
+        } catch (IOException | RuntimeException e) {
+            //заголовки уже отправлены, поэтому ответить ошибкой нельзя - просто обрываю ответ,
+            //в том числе когда клиент закрыл соединение посреди записи
+            httpExchange.close();
+        }
+    }
+
     protected void sendNotFound(HttpExchange httpExchange, String text) throws IOException {
         byte[] response = ("Not Found. " + text).getBytes(DEFAULT_CHARSET);
         httpExchange.sendResponseHeaders(404, response.length);
@@ -0,0 +1,82 @@
+package server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import manager.BatchOperation;
+import manager.BatchResult;
+import manager.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+//POST /batch - массив операций вида {"action":"CREATE","type":"TASK","task":{...}} или
+//{"action":"DELETE","type":"EPIC","id":7}, применяется атомарно; в ответе результат по каждой операции
+public class BatchHandler extends BaseHttpHandler implements HttpHandler {
+
+    public BatchHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        String method = httpExchange.getRequestMethod();
+        if (method.equals("POST")) {
+            handlePostBatch(httpExchange);
+        } else {
+            sendMethodNotAllowed(httpExchange, "Метод не поддерживается. Допустимый метод: POST");
+        }
+    }
+
+    private void handlePostBatch(HttpExchange httpExchange) throws IOException {
+        if (httpExchange.getRequestURI().getPath().split("/").length != 2) {
+            sendBadRequest(httpExchange, "Запрос составлен некорректно");
+            return;
+        }
+        List<BatchOperation> operations;
+        try {
+            String body = new String(httpExchange.getRequestBody().readAllBytes(), DEFAULT_CHARSET);
+            operations = parseOperations(JsonParser.parseString(body).getAsJsonArray());
+        } catch (JsonParseException | IllegalStateException | IllegalArgumentException
+                 | NullPointerException | ClassCastException e) {
+            sendBadRequest(httpExchange, "Неверный формат пакета операций");
+            return;
+        }
+        try {
+            List<BatchResult> results = taskManager.applyBatch(operations);
+            //409 - пакет не применён, причина в результате операции со статусом FAILED
+            sendJsonArray(httpExchange, results, BatchResult.allApplied(results) ? 200 : 409);
+        } catch (Exception e) {
+            sendInternalError(httpExchange);
+        }
+    }
+
+    private List<BatchOperation> parseOperations(JsonArray array) {
+        List<BatchOperation> operations = new ArrayList<>(array.size());
+        for (JsonElement element : array) {
+            JsonObject object = element.getAsJsonObject();
+            BatchOperation.Action action = BatchOperation.Action.valueOf(object.get("action").getAsString());
+            TaskType type = TaskType.valueOf(object.get("type").getAsString());
+            if (action == BatchOperation.Action.DELETE) {
+                operations.add(BatchOperation.delete(type, object.get("id").getAsInt()));
+                continue;
+            }
+            Task task = gson.fromJson(object.get("task"), switch (type) {
+                case TASK -> Task.class;
+                case SUBTASK -> Subtask.class;
+                case EPIC -> Epic.class;
+            });
+            operations.add(new BatchOperation(action, type, task, task.getId()));
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,51 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import manager.TaskManager;
+import model.Task;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+//GET /entities/{id} - задача, подзадача или эпик по id за один запрос, тип указан в поле type
+public class EntitiesHandler extends BaseHttpHandler implements HttpHandler {
+
+    public EntitiesHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        String acceptHeader = httpExchange.getRequestHeaders().getFirst("Accept");
+        if (acceptHeader == null || !acceptHeader.contains("application/json")) {
+            sendNotAcceptable(httpExchange, "Требуется заголовок Accept: application/json");
+            return;
+        }
+        String method = httpExchange.getRequestMethod();
+        if (method.equals("GET")) {
+            handleGetEntity(httpExchange);
+        } else {
+            sendMethodNotAllowed(httpExchange, "Метод не поддерживается. Допустимый метод: GET");
+        }
+    }
+
+    private void handleGetEntity(HttpExchange httpExchange) throws IOException {
+        String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
+        try {
+            if (pathParts.length == 3) {
+                int id = Integer.parseInt(pathParts[2]);
+                Task entity = taskManager.getAnyById(id);
+                sendText(httpExchange, gsonFor(httpExchange).toJson(entity), 200);
+            } else {
+                sendBadRequest(httpExchange, "Запрос составлен некорректно");
+            }
+        } catch (IllegalArgumentException e) {
+            sendBadRequest(httpExchange, "Неверный формат id");
+        } catch (NoSuchElementException e) {
+            sendNotFound(httpExchange, e.getMessage());
+        } catch (Exception e) {
+            sendInternalError(httpExchange);
+        }
+    }
+}
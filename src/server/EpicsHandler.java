@@ -35,17 +35,17 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
         }
         String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
         try {
-            if (pathParts.length == 2) {
-                String response = gson.toJson(taskManager.getEpics().values());
-                sendText(httpExchange, response, 200);
+            if (pathParts.length == 2 && isPageRequest(httpExchange)) {
+                sendIdPage(httpExchange, taskManager::getEpicsPage);
+            } else if (pathParts.length == 2) {
+                sendJsonArray(httpExchange, action -> taskManager.forEachEpic(action::accept), 200);
             } else if (pathParts.length == 3) {
                 int epicId = Integer.parseInt(pathParts[2]);
                 Epic epic = taskManager.getEpicById(epicId);
-                sendText(httpExchange, gson.toJson(epic), 200);
+                sendText(httpExchange, gsonFor(httpExchange).toJson(epic), 200);
             } else if (pathParts.length == 4 && pathParts[3].equals("subtasks")) {
                 int epicId = Integer.parseInt(pathParts[2]);
-                String response = gson.toJson(taskManager.getEpicById(epicId).getSubtasks());
-                sendText(httpExchange, response, 200);
+                sendJsonArray(httpExchange, taskManager.getEpicById(epicId).getSubtasks(), 200);
             } else {
                 sendBadRequest(httpExchange, "Запрос составлен некорректно");
             }
@@ -0,0 +1,9 @@
+package server;
+
+//как сервер распределяет запросы по потокам
+public enum ExecutorMode {
+    SINGLE_THREAD,
+    FIXED_POOL,
+    WORK_STEALING,
+    VIRTUAL_THREADS
+}
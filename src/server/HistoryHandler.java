@@ -3,8 +3,10 @@ package server;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import manager.TaskManager;
+import model.TaskSnapshot;
 
 import java.io.IOException;
+import java.util.List;
 
 public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
 
@@ -30,9 +32,10 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
     private void handleGetHistory(HttpExchange httpExchange) throws IOException {
         String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
         try {
-            if (pathParts.length == 2) {
-                String response = gson.toJson(taskManager.getHistory());
-                sendText(httpExchange, response, 200);
+            if (pathParts.length == 2 && getQueryParameter(httpExchange, "limit") != null) {
+                handleGetRecentHistory(httpExchange);
+            } else if (pathParts.length == 2) {
+                sendJsonArray(httpExchange, action -> taskManager.forEachInHistory(action::accept), 200);
             } else {
                 sendBadRequest(httpExchange, "Запрос составлен некорректно");
             }
@@ -40,4 +43,17 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
             sendInternalError(httpExchange);
         }
     }
+
+    //?limit=N - последние N просмотров; снимки сериализуются напрямую, в полях обычной задачи
+    private void handleGetRecentHistory(HttpExchange httpExchange) throws IOException {
+        int limit;
+        try {
+            limit = getPageLimit(httpExchange);
+        } catch (IllegalArgumentException e) {
+            sendBadRequest(httpExchange, "Неверный параметр limit");
+            return;
+        }
+        List<TaskSnapshot> recent = taskManager.getRecentHistory(limit);
+        sendJsonArray(httpExchange, recent, 200);
+    }
 }
@@ -1,35 +1,87 @@
 package server;
 
 import com.sun.net.httpserver.HttpServer;
+import history.InMemoryHistoryManager;
 import manager.Managers;
 import manager.TaskManager;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class HttpTaskServer {
-    private static final int PORT = 8080;
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_BACKLOG = 0;
     private final TaskManager taskManager;
+    private final int port;
+    private final int backlog;
+    private final ExecutorMode executorMode;
+    private final int threads;
     private HttpServer httpServer;
+    private ExecutorService executor;
 
     public HttpTaskServer(TaskManager taskManager) {
+        this(taskManager, DEFAULT_PORT, DEFAULT_BACKLOG, ExecutorMode.SINGLE_THREAD, 1);
+    }
+
+    //threads учитывается для FIXED_POOL и WORK_STEALING
+    public HttpTaskServer(TaskManager taskManager, int port, int backlog, ExecutorMode executorMode, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
         this.taskManager = taskManager;
+        this.port = port;
+        this.backlog = backlog;
+        this.executorMode = executorMode;
+        this.threads = threads;
     }
 
+    //параметры запуска: --port=8080 --backlog=0 --executor=fixed_pool --threads=8 --history=10000
+    //(без --history или с --history=unbounded история не ограничена)
     public static void main(String[] args) throws IOException {
-        TaskManager manager = Managers.getDefault();
-        HttpTaskServer server = new HttpTaskServer(manager);
+        int historyCapacity = Managers.DEFAULT_HISTORY_CAPACITY;
+        int port = DEFAULT_PORT;
+        int backlog = DEFAULT_BACKLOG;
+        ExecutorMode executorMode = ExecutorMode.SINGLE_THREAD;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Неверный параметр запуска: " + arg);
+            }
+            switch (option[0]) {
+                case "port" -> port = Integer.parseInt(option[1]);
+                case "backlog" -> backlog = Integer.parseInt(option[1]);
+                case "executor" -> executorMode = ExecutorMode.valueOf(option[1].toUpperCase());
+                case "threads" -> threads = Integer.parseInt(option[1]);
+                case "history" -> historyCapacity = option[1].equalsIgnoreCase("unbounded")
+                        ? InMemoryHistoryManager.UNBOUNDED
+                        : Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Неизвестный параметр запуска: " + arg);
+            }
+        }
+        //несколько потоков обработки требуют потокобезопасного менеджера
+        TaskManager manager = executorMode == ExecutorMode.SINGLE_THREAD
+                ? Managers.getDefault(historyCapacity)
+                : Managers.getConcurrent(historyCapacity);
+        HttpTaskServer server = new HttpTaskServer(manager, port, backlog, executorMode, threads);
         server.start();
     }
 
     public void start() throws IOException {
         try {
-            httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
+            httpServer = HttpServer.create(new InetSocketAddress(port), backlog);
             httpServer.createContext("/tasks", new TasksHandler(taskManager));
             httpServer.createContext("/subtasks", new SubtasksHandler(taskManager));
             httpServer.createContext("/epics", new EpicsHandler(taskManager));
             httpServer.createContext("/history", new HistoryHandler(taskManager));
             httpServer.createContext("/prioritized", new PrioritizedHandler(taskManager));
+            httpServer.createContext("/entities", new EntitiesHandler(taskManager));
+            httpServer.createContext("/batch", new BatchHandler(taskManager));
+            executor = createExecutor();
+            httpServer.setExecutor(executor);
             httpServer.start();
         } catch (IOException e) {
             throw new IOException(e.getMessage());
@@ -40,9 +92,36 @@ public class HttpTaskServer {
         if (httpServer != null) {
             httpServer.stop(0);
         }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
     }
 
     public TaskManager getTaskManager() {
         return taskManager;
     }
+
+    public int getPort() {
+        return port;
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    //null означает встроенный однопоточный диспетчер HttpServer
+    private ExecutorService createExecutor() {
+        return switch (executorMode) {
+            case SINGLE_THREAD -> null;
+            case FIXED_POOL -> Executors.newFixedThreadPool(threads);
+            case WORK_STEALING -> Executors.newWorkStealingPool(threads);
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+    }
 }
@@ -3,8 +3,11 @@ package server;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import manager.TaskManager;
+import model.Task;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
 
@@ -30,9 +33,10 @@ public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     private void handleGetPrioritized(HttpExchange httpExchange) throws IOException {
         String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
         try {
-            if (pathParts.length == 2) {
-                String response = gson.toJson(taskManager.getPrioritizedTasks());
-                sendText(httpExchange, response, 200);
+            if (pathParts.length == 2 && isPageRequest(httpExchange)) {
+                handleGetPrioritizedPage(httpExchange);
+            } else if (pathParts.length == 2) {
+                sendJsonArray(httpExchange, taskManager.getPrioritizedView(), 200);
             } else {
                 sendBadRequest(httpExchange, "Запрос составлен некорректно");
             }
@@ -40,4 +44,30 @@ public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
             sendInternalError(httpExchange);
         }
     }
+
+    //курсор приоритетного списка - пара startTime,id последней задачи страницы
+    private void handleGetPrioritizedPage(HttpExchange httpExchange) throws IOException {
+        int limit;
+        LocalDateTime afterStartTime = null;
+        int afterId = 0;
+        try {
+            limit = getPageLimit(httpExchange);
+            String cursor = decodeCursor(httpExchange);
+            if (cursor != null) {
+                String[] parts = cursor.split(",", 2);
+                afterStartTime = LocalDateTime.parse(parts[0]);
+                afterId = Integer.parseInt(parts[1]);
+            }
+        } catch (RuntimeException e) {
+            sendBadRequest(httpExchange, "Неверные параметры limit или cursor");
+            return;
+        }
+        List<Task> page = taskManager.getPrioritizedTasksPage(afterStartTime, afterId, limit);
+        String nextCursor = null;
+        if (page.size() == limit) {
+            Task last = page.getLast();
+            nextCursor = last.getStartTime() + "," + last.getId();
+        }
+        sendJsonPage(httpExchange, page, nextCursor);
+    }
 }
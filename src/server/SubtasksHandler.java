@@ -36,13 +36,14 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
         }
         String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
         try {
-            if (pathParts.length == 2) {
-                String response = gson.toJson(taskManager.getSubtasks().values());
-                sendText(httpExchange, response, 200);
+            if (pathParts.length == 2 && isPageRequest(httpExchange)) {
+                sendIdPage(httpExchange, taskManager::getSubtasksPage);
+            } else if (pathParts.length == 2) {
+                sendJsonArray(httpExchange, action -> taskManager.forEachSubtask(action::accept), 200);
             } else if (pathParts.length == 3) {
                 int subtaskId = Integer.parseInt(pathParts[2]);
                 Subtask subtask = taskManager.getSubtaskById(subtaskId);
-                sendText(httpExchange, gson.toJson(subtask), 200);
+                sendText(httpExchange, gsonFor(httpExchange).toJson(subtask), 200);
             } else {
                 sendBadRequest(httpExchange, "Запрос составлен некорректно");
             }
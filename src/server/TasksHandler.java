@@ -36,13 +36,14 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
         }
         String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
         try {
-            if (pathParts.length == 2) {
-                String response = gson.toJson(taskManager.getTasks().values());
-                sendText(httpExchange, response, 200);
+            if (pathParts.length == 2 && isPageRequest(httpExchange)) {
+                sendIdPage(httpExchange, taskManager::getTasksPage);
+            } else if (pathParts.length == 2) {
+                sendJsonArray(httpExchange, action -> taskManager.forEachTask(action::accept), 200);
             } else if (pathParts.length == 3) {
                 int taskId = Integer.parseInt(pathParts[2]);
                 Task task = taskManager.getTaskById(taskId);
-                sendText(httpExchange, gson.toJson(task), 200);
+                sendText(httpExchange, gsonFor(httpExchange).toJson(task), 200);
             } else {
                 sendBadRequest(httpExchange, "Запрос составлен некорректно");
             }
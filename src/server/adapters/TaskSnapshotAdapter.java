@@ -0,0 +1,41 @@
+package server.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.TaskSnapshot;
+
+import java.io.IOException;
+
+//снимок из истории пишется теми же полями, что и обычная задача в прежнем ответе /history:
+//без epicId, subtasks и endTime, какого бы типа ни была задача
+public class TaskSnapshotAdapter extends TypeAdapter<TaskSnapshot> {
+    private final LocalDateTimeAdapter localDateTimeAdapter = new LocalDateTimeAdapter();
+    private final DurationAdapter durationAdapter = new DurationAdapter();
+    private final StatusAdapter statusAdapter = new StatusAdapter();
+
+    @Override
+    public void write(JsonWriter jsonWriter, TaskSnapshot snapshot) throws IOException {
+        if (snapshot == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        jsonWriter.name("name").value(snapshot.name());
+        jsonWriter.name("description").value(snapshot.description());
+        jsonWriter.name("id").value(snapshot.id());
+        jsonWriter.name("status");
+        statusAdapter.write(jsonWriter, snapshot.status());
+        jsonWriter.name("type").value(snapshot.type() == null ? null : snapshot.type().name());
+        jsonWriter.name("duration");
+        durationAdapter.write(jsonWriter, snapshot.duration());
+        jsonWriter.name("startTime");
+        localDateTimeAdapter.write(jsonWriter, snapshot.startTime());
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public TaskSnapshot read(JsonReader jsonReader) {
+        throw new UnsupportedOperationException("Снимки истории не читаются из json");
+    }
+}
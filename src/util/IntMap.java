@@ -0,0 +1,277 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+//мапа с неотрицательными int-ключами на плотном массиве: значение лежит в ячейке с индексом ключа.
+//id задач выдаются подряд, поэтому массив почти без дыр, а ключи не упаковываются в Integer.
+//Ключ, ради которого массив стал бы в разы больше числа элементов (id из повреждённого файла, 2_000_000_000),
+//кладётся в отдельную упорядоченную мапу и переносится в массив, когда тот дорастёт до него.
+//Обход идёт по возрастанию ключа. Писать может только один поток за раз, читать - любые потоки
+//параллельно с записью (ячейки публикуются через release/acquire, обход слабо согласован).
+public class IntMap<V> extends AbstractMap<Integer, V> {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final int INITIAL_CAPACITY = 16;
+    //массив до такой длины растёт под любой ключ, дальше - не больше чем в 4 раза от числа элементов
+    private static final int MIN_DENSE_CAPACITY = 1 << 12;
+    private static final int MAX_DENSE_RATIO = 4;
+
+    private volatile Object[] slots = new Object[INITIAL_CAPACITY];
+    //все ключи здесь не меньше длины slots
+    private final ConcurrentSkipListMap<Integer, V> sparse = new ConcurrentSkipListMap<>();
+    private volatile int size;
+
+    //при переносе ключ сначала появляется в массиве, потом пропадает из sparse, поэтому промах перепроверяется
+    public V get(int key) {
+        if (key < 0) {
+            return null;
+        }
+        V value = dense(key);
+        if (value != null) {
+            return value;
+        }
+        value = sparse.get(key);
+        return value != null ? value : dense(key);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public V put(int key, V value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Ключ не может быть отрицательным: " + key);
+        }
+        if (value == null) {
+            throw new NullPointerException("Значение не может быть null");
+        }
+        Object[] current = slots;
+        if (key >= current.length) {
+            if (!fitsDense(key)) {
+                V previous = sparse.put(key, value);
+                if (previous == null) {
+                    size++;
+                }
+                return previous;
+            }
+            current = grow(key);
+        }
+        V previous = slotAt(current, key);
+        SLOTS.setRelease(current, key, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V remove(int key) {
+        Object[] current = slots;
+        if (key < 0) {
+            return null;
+        }
+        if (key >= current.length) {
+            V previous = sparse.remove(key);
+            if (previous != null) {
+                size--;
+            }
+            return previous;
+        }
+        V previous = slotAt(current, key);
+        if (previous != null) {
+            SLOTS.setRelease(current, key, null);
+            size--;
+        }
+        return previous;
+    }
+
+    //значения с ключами строго больше afterKey по возрастанию ключа
+    public Iterator<V> valuesAfter(int afterKey) {
+        if (afterKey == Integer.MAX_VALUE) {
+            return Collections.emptyIterator();
+        }
+        return new SlotIterator<V>(slots, afterKey < 0 ? 0 : afterKey + 1, (key, value) -> value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer id ? get(id.intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer id ? remove(id.intValue()) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        slots = new Object[INITIAL_CAPACITY];
+        sparse.clear();
+        size = 0;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>(slots, 0, (key, value) -> value);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new SlotIterator<Integer>(slots, 0, (key, value) -> key);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                return new SlotIterator<Map.Entry<Integer, V>>(slots, 0, SimpleImmutableEntry::new);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private boolean fitsDense(int key) {
+        return key < Math.max(MIN_DENSE_CAPACITY, (long) MAX_DENSE_RATIO * (size + 1));
+    }
+
+    private Object[] grow(int key) {
+        int capacity = Math.max(key + 1, (int) Math.min(Integer.MAX_VALUE - 8, slots.length * 2L));
+        Object[] grown = Arrays.copyOf(slots, capacity);
+        slots = grown;
+        Iterator<Map.Entry<Integer, V>> moved = sparse.headMap(capacity).entrySet().iterator();
+        while (moved.hasNext()) {
+            Map.Entry<Integer, V> entry = moved.next();
+            SLOTS.setRelease(grown, entry.getKey().intValue(), entry.getValue());
+            moved.remove();
+        }
+        return grown;
+    }
+
+    private V dense(int key) {
+        Object[] current = slots;
+        return key < current.length ? slotAt(current, key) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V slotAt(Object[] slots, int index) {
+        return (V) SLOTS.getAcquire(slots, index);
+    }
+
+    //итератор по непустым ячейкам, затем по ключам из sparse; удаление через итератор идёт в саму мапу
+    private class SlotIterator<T> implements Iterator<T> {
+        private final Object[] snapshot;
+        private final Projection<V, T> projection;
+        private Iterator<Map.Entry<Integer, V>> rest;
+        private int next;
+        private V nextValue;
+        private int last = -1;
+
+        SlotIterator(Object[] snapshot, int from, Projection<V, T> projection) {
+            this.snapshot = snapshot;
+            this.projection = projection;
+            advance(from);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextValue != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            V value = nextValue;
+            advance(next + 1);
+            return projection.apply(last, value);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            IntMap.this.remove(last);
+            last = -1;
+        }
+
+        private void advance(int from) {
+            nextValue = null;
+            if (rest == null) {
+                for (next = from; next < snapshot.length; next++) {
+                    nextValue = slotAt(snapshot, next);
+                    if (nextValue != null) {
+                        return;
+                    }
+                }
+                rest = sparse.tailMap(Math.max(from, snapshot.length)).entrySet().iterator();
+            }
+            if (rest.hasNext()) {
+                Map.Entry<Integer, V> entry = rest.next();
+                next = entry.getKey();
+                nextValue = entry.getValue();
+            }
+        }
+    }
+
+    private interface Projection<V, T> {
+        T apply(int key, V value);
+    }
+}
@@ -0,0 +1,51 @@
+package http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchHandlerTest extends BaseApiTest {
+    private static final String BATCH_URL = "/batch";
+
+    @Test
+    void shouldApplyBatchAndReturnResultPerOperation() throws Exception {
+        String batch = "[{\"action\":\"CREATE\",\"type\":\"TASK\",\"task\":{\"name\":\"Task\",\"description\":\"Desc\"}},"
+                + "{\"action\":\"CREATE\",\"type\":\"EPIC\",\"task\":{\"name\":\"Epic\",\"description\":\"Desc\"}}]";
+
+        HttpResponse<String> response = sendRequest("POST", BATCH_URL, batch);
+
+        assertEquals(200, response.statusCode());
+        JsonArray results = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals(2, results.size());
+        assertEquals("APPLIED", results.get(1).getAsJsonObject().get("outcome").getAsString());
+        int epicId = results.get(1).getAsJsonObject().get("id").getAsInt();
+        assertEquals("Epic", manager.getEpicById(epicId).getName());
+        assertEquals(1, manager.getTasks().size());
+    }
+
+    @Test
+    void shouldReturnConflictAndApplyNothingWhenOperationFails() throws Exception {
+        String batch = "[{\"action\":\"CREATE\",\"type\":\"TASK\",\"task\":{\"name\":\"Task\",\"description\":\"Desc\"}},"
+                + "{\"action\":\"DELETE\",\"type\":\"SUBTASK\",\"id\":999}]";
+
+        HttpResponse<String> response = sendRequest("POST", BATCH_URL, batch);
+
+        assertEquals(409, response.statusCode());
+        JsonArray results = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals("ROLLED_BACK", results.get(0).getAsJsonObject().get("outcome").getAsString());
+        assertEquals("FAILED", results.get(1).getAsJsonObject().get("outcome").getAsString());
+        assertTrue(manager.getTasks().isEmpty());
+    }
+
+    @Test
+    void shouldReturnBadRequestForMalformedBatch() throws Exception {
+        HttpResponse<String> response = sendRequest("POST", BATCH_URL, "[{\"action\":\"RENAME\",\"type\":\"TASK\"}]");
+
+        assertEquals(400, response.statusCode());
+    }
+}
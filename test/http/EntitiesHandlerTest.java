@@ -0,0 +1,47 @@
+package http;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntitiesHandlerTest extends BaseApiTest {
+    private static final String ENTITIES_URL = "/entities/";
+
+    @Test
+    void shouldReturnEntityOfAnyTypeById() throws Exception {
+        HttpResponse<String> createEpic = sendRequest("POST", "/epics", "{\"name\":\"Epic\",\"description\":\"Desc\"}");
+        int epicId = Integer.parseInt(createEpic.body().replaceAll("\\D+", ""));
+        HttpResponse<String> createTask = sendRequest("POST", "/tasks", "{\"name\":\"Task\",\"description\":\"Desc\"}");
+        int taskId = Integer.parseInt(createTask.body().split("=")[1].trim());
+
+        HttpResponse<String> epicResponse = sendRequest("GET", ENTITIES_URL + epicId, "");
+        HttpResponse<String> taskResponse = sendRequest("GET", ENTITIES_URL + taskId, "");
+
+        assertEquals(200, epicResponse.statusCode());
+        JsonObject epic = JsonParser.parseString(epicResponse.body()).getAsJsonObject();
+        assertEquals("EPIC", epic.get("type").getAsString());
+        assertEquals("Epic", epic.get("name").getAsString());
+        JsonObject task = JsonParser.parseString(taskResponse.body()).getAsJsonObject();
+        assertEquals("TASK", task.get("type").getAsString());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownId() throws Exception {
+        HttpResponse<String> response = sendRequest("GET", ENTITIES_URL + 999, "");
+
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidId() throws Exception {
+        HttpResponse<String> response = sendRequest("GET", ENTITIES_URL + "abc", "");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Неверный формат id"));
+    }
+}
@@ -166,9 +166,9 @@ public class EpicsHandlerTest extends BaseApiTest {
         HttpResponse<String> epicGetResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
         String epicBody = epicGetResponse.body();
 
-        assertTrue(epicBody.contains("\"startTime\": \"2023-01-01T10:00:00\""));
-        assertTrue(epicBody.contains("\"duration\": \"PT2H30M\""));
-        assertTrue(epicBody.contains("\"endTime\": \"2023-01-01T12:30:00\""));
+        assertTrue(epicBody.contains("\"startTime\":\"2023-01-01T10:00:00\""));
+        assertTrue(epicBody.contains("\"duration\":\"PT2H30M\""));
+        assertTrue(epicBody.contains("\"endTime\":\"2023-01-01T12:30:00\""));
     }
 
     @Test
@@ -178,30 +178,30 @@ public class EpicsHandlerTest extends BaseApiTest {
         int epicId = extractIdFromResponse(epicResponse);
 
         HttpResponse<String> initialStatusResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
-        assertTrue(initialStatusResponse.body().contains("\"status\": \"NEW\""));
+        assertTrue(initialStatusResponse.body().contains("\"status\":\"NEW\""));
 
         String subtaskJson1 = String.format("{\"name\":\"Sub 1\",\"description\":\"Desc 1\",\"epicId\":%d}", epicId);
         int subtaskId = extractIdFromResponse(sendRequest("POST", SUBTASKS_ENDPOINT, subtaskJson1));
         HttpResponse<String> newStatusResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
-        assertTrue(newStatusResponse.body().contains("\"status\": \"NEW\""));
+        assertTrue(newStatusResponse.body().contains("\"status\":\"NEW\""));
 
         String updateJson = String.format("{\"id\":%d,\"name\":\"Sub 1\",\"description\":\"Desc 1\"," +
                 "\"epicId\":%d,\"status\":\"IN_PROGRESS\"}", subtaskId, epicId);
         sendRequest("POST", SUBTASKS_ENDPOINT, updateJson);
         HttpResponse<String> inProgressResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
-        assertTrue(inProgressResponse.body().contains("\"status\": \"IN_PROGRESS\""));
+        assertTrue(inProgressResponse.body().contains("\"status\":\"IN_PROGRESS\""));
 
         String subtaskJson2 = String.format("{\"name\":\"Sub 2\",\"description\":\"Desc 2\",\"epicId\":%d," +
                 "\"status\":\"DONE\"}", epicId);
         sendRequest("POST", SUBTASKS_ENDPOINT, subtaskJson2);
         HttpResponse<String> mixedStatusResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
-        assertTrue(mixedStatusResponse.body().contains("\"status\": \"IN_PROGRESS\""));
+        assertTrue(mixedStatusResponse.body().contains("\"status\":\"IN_PROGRESS\""));
 
         String updateAllJson = String.format("{\"id\":%d,\"name\":\"Sub 1\",\"description\":\"Desc 1\"," +
                 "\"epicId\":%d,\"status\":\"DONE\"}", subtaskId, epicId);
         sendRequest("POST", SUBTASKS_ENDPOINT, updateAllJson);
         HttpResponse<String> doneStatusResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
-        assertTrue(doneStatusResponse.body().contains("\"status\": \"DONE\""));
+        assertTrue(doneStatusResponse.body().contains("\"status\":\"DONE\""));
     }
 
     @Test
@@ -213,9 +213,9 @@ public class EpicsHandlerTest extends BaseApiTest {
         HttpResponse<String> getResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
         String responseBody = getResponse.body();
 
-        assertTrue(responseBody.contains("\"startTime\": null"));
-        assertTrue(responseBody.contains("\"duration\": null"));
-        assertTrue(responseBody.contains("\"endTime\": null"));
+        assertTrue(responseBody.contains("\"startTime\":null"));
+        assertTrue(responseBody.contains("\"duration\":null"));
+        assertTrue(responseBody.contains("\"endTime\":null"));
     }
 
     @Test
@@ -238,9 +238,9 @@ public class EpicsHandlerTest extends BaseApiTest {
         HttpResponse<String> epicGetResponse = sendRequest("GET", ENDPOINT_WITH_ID + epicId, "");
         String epicBody = epicGetResponse.body();
 
-        assertTrue(epicBody.contains("\"startTime\": \"2023-01-01T12:00:00\""));
-        assertTrue(epicBody.contains("\"duration\": \"PT30M\""));
-        assertTrue(epicBody.contains("\"endTime\": \"2023-01-01T12:30:00\""));
+        assertTrue(epicBody.contains("\"startTime\":\"2023-01-01T12:00:00\""));
+        assertTrue(epicBody.contains("\"duration\":\"PT30M\""));
+        assertTrue(epicBody.contains("\"endTime\":\"2023-01-01T12:30:00\""));
     }
 
     private int extractIdFromResponse(HttpResponse<String> response) {
@@ -11,6 +11,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -113,4 +114,57 @@ class HistoryHandlerTest extends BaseApiTest {
         assertEquals(405, response.statusCode());
         assertTrue(response.body().contains("Метод не поддерживается"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnOnlyRecentViewsWithLimit() throws Exception {
+        List<Integer> created = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            HttpResponse<String> create = sendRequest("POST", "/tasks",
+                    "{\"name\":\"Task " + i + "\",\"description\":\"desc\"}");
+            int id = Integer.parseInt(create.body().split("=")[1].trim());
+            created.add(id);
+            sendRequest("GET", "/tasks/" + id, "");
+        }
+
+        HttpResponse<String> history = sendRequest("GET", HISTORY_URL + "?limit=2", "");
+        JsonArray jsonArray = JsonParser.parseString(history.body()).getAsJsonArray();
+
+        List<Integer> ids = new ArrayList<>();
+        for (JsonElement element : jsonArray) {
+            ids.add(element.getAsJsonObject().get("id").getAsInt());
+        }
+        assertEquals(created.subList(1, 3), ids, "Должны вернуться два последних просмотра");
+        assertEquals(400, sendRequest("GET", HISTORY_URL + "?limit=0", "").statusCode());
+    }
+
+    @Test
+    void shouldWritePlainTaskFieldsForEachTypeInHistory() throws Exception {
+        HttpResponse<String> createTask = sendRequest("POST", "/tasks", "{\"name\":\"Task\",\"description\":\"desc\"}");
+        HttpResponse<String> createEpic = sendRequest("POST", "/epics", "{\"name\":\"Epic\",\"description\":\"desc\"}");
+        int taskId = Integer.parseInt(createTask.body().split("=")[1].trim());
+        int epicId = Integer.parseInt(createEpic.body().split("=")[1].trim());
+        HttpResponse<String> createSubtask = sendRequest("POST", "/subtasks",
+                "{\"name\":\"Sub\",\"description\":\"desc\",\"epicId\":" + epicId + "}");
+        int subtaskId = Integer.parseInt(createSubtask.body().split("=")[1].trim());
+        sendRequest("GET", "/tasks/" + taskId, "");
+        sendRequest("GET", "/epics/" + epicId, "");
+        sendRequest("GET", "/subtasks/" + subtaskId, "");
+
+        for (String url : List.of(HISTORY_URL, HISTORY_URL + "?limit=3")) {
+            JsonArray jsonArray = JsonParser.parseString(sendRequest("GET", url, "").body()).getAsJsonArray();
+            JsonObject task = jsonArray.get(0).getAsJsonObject();
+            JsonObject epic = jsonArray.get(1).getAsJsonObject();
+            JsonObject subtask = jsonArray.get(2).getAsJsonObject();
+
+            for (JsonObject entry : List.of(task, epic, subtask)) {
+                assertEquals(Set.of("name", "description", "id", "status", "type", "duration", "startTime"),
+                        entry.keySet(), "В истории у задач любого типа только поля обычной задачи");
+            }
+            assertEquals("TASK", task.get("type").getAsString());
+            assertEquals("EPIC", epic.get("type").getAsString());
+            assertEquals("SUBTASK", subtask.get("type").getAsString());
+            assertEquals(subtaskId, subtask.get("id").getAsInt());
+            assertEquals("Sub", subtask.get("name").getAsString());
+        }
+    }
+}
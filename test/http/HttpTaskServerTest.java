@@ -5,11 +5,19 @@ import manager.TaskManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import server.ExecutorMode;
 import server.HttpTaskServer;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -58,4 +66,28 @@ class HttpTaskServerTest {
         assertThrows(Exception.class, server::start,
                 "Должно выбрасываться исключение при повторном запуске сервера");
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @EnumSource(ExecutorMode.class)
+    void shouldServeRequestsWithEveryExecutorMode(ExecutorMode executorMode) throws IOException, InterruptedException {
+        HttpTaskServer configured = new HttpTaskServer(manager, 8081, 16, executorMode, 4);
+        configured.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8081/tasks"))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), "Сервер должен отвечать в режиме " + executorMode);
+        } finally {
+            configured.stop();
+        }
+    }
+
+    @Test
+    void shouldRejectNonPositiveThreadCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpTaskServer(manager, 8081, 0, ExecutorMode.FIXED_POOL, 0));
+    }
+}
@@ -80,4 +80,26 @@ class PrioritizedHandlerTest extends BaseApiTest {
         HttpResponse<String> postResponse = sendRequest("POST", PRIORITIZED_URL, "{}");
         assertEquals(405, postResponse.statusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPageThroughPrioritizedTasks() throws Exception {
+        String task1 = "{\"name\":\"Task1\",\"description\":\"Desc\",\"startTime\":\"2023-01-01T11:00:00\",\"duration\":\"PT1H\"}";
+        String task2 = "{\"name\":\"Task2\",\"description\":\"Desc\",\"startTime\":\"2023-01-01T09:00:00\",\"duration\":\"PT1H\"}";
+        String task3 = "{\"name\":\"Task3\",\"description\":\"Desc\",\"startTime\":\"2023-01-01T10:00:00\",\"duration\":\"PT1H\"}";
+        sendRequest("POST", "/tasks", task1);
+        sendRequest("POST", "/tasks", task2);
+        sendRequest("POST", "/tasks", task3);
+
+        HttpResponse<String> firstPage = sendRequest("GET", PRIORITIZED_URL + "?limit=2", "");
+        String cursor = firstPage.headers().firstValue("X-Next-Cursor").orElseThrow();
+        HttpResponse<String> secondPage = sendRequest("GET", PRIORITIZED_URL + "?limit=2&cursor=" + cursor, "");
+
+        JsonArray first = JsonParser.parseString(firstPage.body()).getAsJsonArray();
+        JsonArray second = JsonParser.parseString(secondPage.body()).getAsJsonArray();
+        assertEquals(2, first.size());
+        assertEquals("Task2", first.get(0).getAsJsonObject().get("name").getAsString());
+        assertEquals("Task3", first.get(1).getAsJsonObject().get("name").getAsString());
+        assertEquals(1, second.size());
+        assertEquals("Task1", second.get(0).getAsJsonObject().get("name").getAsString());
+    }
+}
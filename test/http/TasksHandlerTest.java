@@ -1,5 +1,6 @@
 package http;
 
+import com.google.gson.JsonParser;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -200,5 +201,55 @@ public class TasksHandlerTest extends BaseApiTest {
         HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
         assertEquals(405, response.statusCode());
     }
-}
 
+    @Test
+    void shouldStreamTaskListInChunks() throws IOException, InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            sendRequest("POST", BASE_ENDPOINT, "{\"name\":\"Task " + i + "\",\"description\":\"Desc\"}");
+        }
+
+        HttpResponse<String> response = sendRequest("GET", BASE_ENDPOINT, "");
+        assertEquals(200, response.statusCode());
+        assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(""),
+                "Список задач должен передаваться потоком");
+        assertEquals(50, JsonParser.parseString(response.body()).getAsJsonArray().size());
+    }
+
+    @Test
+    void shouldReturnCompactJsonUnlessPrettyIsRequested() throws IOException, InterruptedException {
+        String taskJson = "{\"name\":\"Test Task\",\"description\":\"Test Description\"}";
+        HttpResponse<String> postResponse = sendRequest("POST", BASE_ENDPOINT, taskJson);
+        int taskId = Integer.parseInt(postResponse.body().split("=")[1].trim());
+
+        HttpResponse<String> compact = sendRequest("GET", ENDPOINT_WITH_ID + taskId, "");
+        HttpResponse<String> pretty = sendRequest("GET", ENDPOINT_WITH_ID + taskId + "?pretty=true", "");
+        HttpResponse<String> prettyList = sendRequest("GET", BASE_ENDPOINT + "?pretty", "");
+
+        assertTrue(!compact.body().contains("\n"), "По умолчанию json должен быть компактным");
+        assertTrue(pretty.body().contains("\n"), "По запросу json должен форматироваться");
+        assertTrue(prettyList.body().contains("\n"), "По запросу список должен форматироваться");
+        assertEquals(JsonParser.parseString(compact.body()), JsonParser.parseString(pretty.body()));
+    }
+
+    @Test
+    void shouldPageThroughTasksWithCursor() throws IOException, InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            sendRequest("POST", BASE_ENDPOINT, "{\"name\":\"Task " + i + "\",\"description\":\"Desc\"}");
+        }
+
+        HttpResponse<String> firstPage = sendRequest("GET", BASE_ENDPOINT + "?limit=3", "");
+        String cursor = firstPage.headers().firstValue("X-Next-Cursor").orElseThrow();
+        HttpResponse<String> secondPage = sendRequest("GET", BASE_ENDPOINT + "?limit=3&cursor=" + cursor, "");
+
+        assertEquals(3, JsonParser.parseString(firstPage.body()).getAsJsonArray().size());
+        assertEquals(2, JsonParser.parseString(secondPage.body()).getAsJsonArray().size());
+        assertTrue(secondPage.headers().firstValue("X-Next-Cursor").isEmpty(), "У последней страницы нет курсора");
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidPageParameters() throws IOException, InterruptedException {
+        assertEquals(400, sendRequest("GET", BASE_ENDPOINT + "?limit=0", "").statusCode());
+        assertEquals(400, sendRequest("GET", BASE_ENDPOINT + "?limit=abc", "").statusCode());
+        assertEquals(400, sendRequest("GET", BASE_ENDPOINT + "?cursor=%25%25", "").statusCode());
+    }
+}
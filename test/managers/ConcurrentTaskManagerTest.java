@@ -0,0 +1,124 @@
+package managers;
+
+import manager.ConcurrentTaskManager;
+import manager.Managers;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 200;
+
+    @Override
+    protected ConcurrentTaskManager createManager() {
+        return (ConcurrentTaskManager) Managers.getConcurrent();
+    }
+
+    @BeforeEach
+    void setUp() {
+        manager = createManager();
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsFromManyThreads() throws Exception {
+        Epic epic = new Epic("Epic", "Desc", Status.NEW, null, null);
+        int epicId = manager.addNewEpic(epic);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<List<Integer>>> jobs = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread * TASKS_PER_THREAD;
+            jobs.add(() -> {
+                List<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    LocalDateTime taskStart = start.plusMinutes(10L * (offset + i));
+                    if (i % 2 == 0) {
+                        ids.add(manager.addNewTask(new Task("Task", "Desc", Status.NEW, taskStart, Duration.ofMinutes(5))));
+                    } else {
+                        ids.add(manager.addNewSubtask(new Subtask("Sub", "Desc", Status.DONE, epicId, taskStart, Duration.ofMinutes(5))));
+                    }
+                    manager.getPrioritizedTasks();
+                }
+                return ids;
+            });
+        }
+        Set<Integer> ids = new HashSet<>();
+        try {
+            for (Future<List<Integer>> future : executor.invokeAll(jobs)) {
+                ids.addAll(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = THREADS * TASKS_PER_THREAD;
+        assertEquals(total, ids.size(), "Id должны быть уникальными");
+        assertEquals(total / 2, manager.getTasks().size());
+        assertEquals(total / 2, manager.getSubtasks().size());
+        assertEquals(total, manager.getPrioritizedTasks().size());
+        assertEquals(total / 2, manager.getSubtasksByEpicId(epicId).size());
+        assertEquals(Status.DONE, manager.getEpicById(epicId).getStatus());
+    }
+
+    @Test
+    void shouldReadEpicsWhileSubtasksAreAdded() throws Exception {
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, null));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        int total = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < total; i++) {
+                    manager.addNewSubtask(new Subtask("Sub", "Desc", Status.NEW, epicId,
+                            start.plusMinutes(10L * i), Duration.ofMinutes(5)));
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int thread = 1; thread < THREADS; thread++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        for (Epic epic : manager.getEpics().values()) {
+                            epic.getSubtasks().forEach(Subtask::getStatus);
+                        }
+                        manager.getEpicById(epicId).getSubtasks().forEach(Subtask::getStatus);
+                        manager.getEpicsPage(0, 10).forEach(epic -> epic.getSubtasks().forEach(Subtask::getId));
+                        manager.forEachEpic(epic -> epic.getSubtasks().forEach(Subtask::getStatus));
+                    }
+                    return null;
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Epic copy = manager.getEpicById(epicId);
+        assertEquals(total, copy.getSubtasks().size());
+        copy.clearSubtasks();
+        assertEquals(total, manager.getSubtasksByEpicId(epicId).size(), "Копия не должна менять эпик в менеджере");
+        assertNotSame(manager.getTasks(), manager.getTasks());
+        manager.forEachEpic(Epic::clearSubtasks);
+        assertEquals(total, manager.getSubtasksByEpicId(epicId).size(), "Обход должен отдавать копии эпиков");
+    }
+}
@@ -2,12 +2,20 @@ package managers;
 
 import exceptions.ManagerLoadException;
 import exceptions.ManagerSaveException;
+import manager.BatchOperation;
+import manager.BatchResult;
 import manager.FileBackedTaskManager;
+import manager.FsyncPolicy;
 import manager.Managers;
+import manager.SnapshotConverter;
+import manager.SnapshotFormat;
 import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskBinary;
+import model.TaskCsv;
+import model.TaskType;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -18,26 +26,38 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     private static Path tempFile;
+    private static Path journalFile;
+    private static Path compactingJournalFile;
 
     @BeforeAll
     static void initFile() throws IOException {
         tempFile = Files.createTempFile("tasks", ".csv");
+        journalFile = tempFile.resolveSibling(tempFile.getFileName() + ".journal");
+        compactingJournalFile = tempFile.resolveSibling(tempFile.getFileName() + ".journal.compacting");
     }
 
     @AfterAll
     static void tearDown() throws IOException {
         Files.deleteIfExists(tempFile);
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(compactingJournalFile);
     }
 
     @Override
@@ -53,6 +73,8 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     @AfterEach
     void clearFile() throws IOException {
         Files.writeString(tempFile, "");
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(compactingJournalFile);
     }
 
     @Test
@@ -68,7 +90,7 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         }
 
         assertEquals(1, lines.length, "Файл должен содержать только заголовок");
-        assertEquals("id,type,name,status,description,epic,startTime,duration", lines[0], "Неверный формат заголовка");
+        assertEquals("id,type,name,status,description,epic,startTime,duration,quoted", lines[0], "Неверный формат заголовка");
     }
 
     @Test
@@ -174,5 +196,437 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
                 () -> manager.addNewTask(task),
                 "Корректная операция сохранения не должна вызывать исключений");
     }
-}
 
+    @Test
+    void shouldAppendToJournalInsteadOfRewritingFile() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            Task task = new Task("Task", "Desc", Status.NEW, LocalDateTime.of(2023, 1, 1, 10, 0), Duration.ofMinutes(30));
+            journaled.addNewTask(task);
+            Epic epic = new Epic("Epic", "Desc", Status.NEW, null, null);
+            journaled.addNewEpic(epic);
+            journaled.addNewSubtask(new Subtask("Sub", "Desc", Status.DONE, epic.getId(), null, null));
+        }
+
+        assertEquals(1, Files.readString(tempFile, StandardCharsets.UTF_8).split("\n").length,
+                "В режиме журнала файл не должен перезаписываться при каждом изменении");
+        assertTrue(Files.size(journalFile) > 0, "Изменения должны дописываться в журнал");
+    }
+
+    @Test
+    void shouldRejectSnapshotWithInvalidUtf8() throws IOException {
+        byte[] header = (TaskCsv.HEADER + "\n1,TASK,").getBytes(StandardCharsets.UTF_8);
+        byte[] rest = ",NEW,Desc,,,\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[header.length + 1 + rest.length];
+        System.arraycopy(header, 0, content, 0, header.length);
+        content[header.length] = (byte) 0xC3;
+        System.arraycopy(rest, 0, content, header.length + 1, rest.length);
+        Files.write(tempFile, content);
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(tempFile.toFile()),
+                "Неверные байты UTF-8 не должны молча заменяться");
+    }
+
+    @Test
+    void shouldLoadSnapshotWithFarIdsWithoutDenseArrays() throws IOException {
+        Files.writeString(tempFile, String.join("\n",
+                "id,type,name,status,description,epic,startTime,duration",
+                "2000000000,EPIC,Epic,NEW,Desc,,,",
+                "3,SUBTASK,Sub,DONE,Desc,2000000000,,",
+                ""));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+        assertEquals(Status.DONE, loaded.getEpicById(2_000_000_000).getStatus());
+        assertEquals(2_000_000_001, loaded.addNewTask(new Task("New", "Desc", Status.NEW, null, null)));
+        assertEquals(List.of(3), loaded.getSubtasksByEpicId(2_000_000_000).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldLoadSnapshotKeepingIdsAndRebuildIndexesOnce() throws IOException {
+        Files.writeString(tempFile, String.join("\n",
+                "id,type,name,status,description,epic,startTime,duration",
+                "12,SUBTASK,Sub,DONE,Desc,40,2025-05-01T12:00,60",
+                "7,TASK,Task,NEW,Desc,,2025-05-01T09:00,30",
+                "40,EPIC,Epic,NEW,Desc,,,",
+                "41,SUBTASK,Other,NEW,Desc,40,2025-05-01T10:00,60",
+                ""));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+        assertEquals(List.of(7, 41, 12), loaded.getPrioritizedTasks().stream().map(Task::getId).toList());
+        Epic epic = loaded.getEpicById(40);
+        assertEquals(Status.IN_PROGRESS, epic.getStatus());
+        assertEquals(LocalDateTime.of(2025, 5, 1, 10, 0), epic.getStartTime());
+        assertEquals(LocalDateTime.of(2025, 5, 1, 13, 0), epic.getEndTime());
+        assertEquals(42, loaded.addNewTask(new Task("New", "Desc", Status.NEW, null, null)),
+                "Новые id должны продолжаться после максимального загруженного");
+    }
+
+    @Test
+    void shouldPersistBatchOnceAndSkipFailedBatch() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            journaled.applyBatch(List.of(
+                    BatchOperation.create(new Task("First", "Desc", Status.NEW, null, null)),
+                    BatchOperation.create(new Task("Second", "Desc", Status.NEW, null, null))));
+            long journalSize = Files.size(journalFile);
+
+            List<BatchResult> failed = journaled.applyBatch(List.of(
+                    BatchOperation.create(new Task("Third", "Desc", Status.NEW, null, null)),
+                    BatchOperation.delete(TaskType.TASK, 999)));
+
+            assertFalse(BatchResult.allApplied(failed));
+            assertEquals(journalSize, Files.size(journalFile), "Отменённый пакет не должен попадать в журнал");
+        }
+
+        try (FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile(), FsyncPolicy.NEVER)) {
+            assertEquals(List.of("First", "Second"), loaded.getTasks().values().stream().map(Task::getName).toList());
+        }
+    }
+
+    @Test
+    void shouldReplayJournalOnTopOfSnapshot() {
+        int keptId;
+        int deletedId;
+        int subtaskId;
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.EVERY_SECOND)) {
+            keptId = journaled.addNewTask(new Task("Kept", "Desc", Status.NEW, null, null));
+            deletedId = journaled.addNewTask(new Task("Deleted", "Desc", Status.NEW, null, null));
+            int epicId = journaled.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, null));
+            subtaskId = journaled.addNewSubtask(new Subtask("Sub", "Desc", Status.NEW, epicId, null, null));
+            journaled.deleteTaskById(deletedId);
+            Subtask subtask = journaled.getSubtaskById(subtaskId);
+            subtask.setStatus(Status.DONE);
+            journaled.updateSubtask(subtask);
+        }
+
+        try (FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile(), FsyncPolicy.NEVER)) {
+            assertEquals(1, loaded.getTasks().size());
+            assertEquals("Kept", loaded.getTaskById(keptId).getName(), "Id задач должны сохраняться при загрузке");
+            assertFalse(loaded.getTasks().containsKey(deletedId), "Удаление должно применяться из журнала");
+            Subtask subtask = loaded.getSubtaskById(subtaskId);
+            assertEquals(Status.DONE, subtask.getStatus());
+            assertEquals(Status.DONE, loaded.getEpicById(subtask.getEpicId()).getStatus());
+            int newId = loaded.addNewTask(new Task("New", "Desc", Status.NEW, null, null));
+            assertTrue(newId > subtaskId, "Новые id не должны совпадать с загруженными");
+        }
+    }
+
+    @Test
+    void shouldKeepCommasAndLineBreaksInTextFields() {
+        Task task = new Task("Name, with comma", "Line one\n\"Line\" two", Status.NEW, null, null);
+        manager.addNewTask(task);
+        Task journaledTask = new Task("Journal, too", "a\nb", Status.DONE, null, null);
+        try (FileBackedTaskManager journaled = FileBackedTaskManager.loadFromFile(tempFile.toFile(), FsyncPolicy.ALWAYS)) {
+            journaled.addNewTask(journaledTask);
+        }
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+        assertEquals(task.getName(), loaded.getTaskById(task.getId()).getName());
+        assertEquals(task.getDescription(), loaded.getTaskById(task.getId()).getDescription());
+        assertEquals(journaledTask.getDescription(), loaded.getTaskById(journaledTask.getId()).getDescription());
+    }
+
+    @Test
+    void shouldSaveAndLoadBinarySnapshot() throws IOException {
+        FileBackedTaskManager binary = Managers.getDefaultSaving(tempFile, SnapshotFormat.BINARY);
+        int epicId = binary.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, null));
+        Subtask subtask = new Subtask("Sub", "a,b", Status.DONE, epicId,
+                LocalDateTime.of(2025, 5, 1, 10, 0), Duration.ofMinutes(45));
+        binary.addNewSubtask(subtask);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+        loaded.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+
+        assertTrue(TaskBinary.isBinary(Files.readAllBytes(tempFile)), "Формат файла должен сохраняться после загрузки");
+        assertEquals(subtask.getDescription(), loaded.getSubtaskById(subtask.getId()).getDescription());
+        assertEquals(subtask.getEndTime(), loaded.getEpicById(epicId).getEndTime());
+        assertEquals(Status.DONE, loaded.getEpicById(epicId).getStatus());
+    }
+
+    @Test
+    void shouldLoadCsvRecordsSpanningDecodeChunks() throws IOException {
+        String longDescription = "Описание, \"длинное\"\n".repeat(10_000);
+        StringBuilder content = new StringBuilder(TaskCsv.HEADER).append('\n');
+        for (int i = 1; i <= 5_000; i++) {
+            TaskCsv.append(content, new Task(i, "Задача " + (i - 1), Status.NEW,
+                    i == 2_501 ? longDescription : "Описание", TaskType.TASK, null, Duration.ZERO));
+            content.append('\n');
+        }
+        Files.writeString(tempFile, content);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+        assertEquals(5_000, loaded.getTasks().size());
+        assertEquals(longDescription, loaded.getTaskById(2_501).getDescription());
+        assertEquals("Задача 4999", loaded.getTaskById(5_000).getName());
+    }
+
+    @Test
+    void shouldLoadLargeCsvInParallelKeepingQuotedLineBreaks() throws IOException {
+        StringBuilder content = new StringBuilder(TaskCsv.HEADER).append('\n');
+        int epics = 2_000;
+        for (int i = 1; i <= epics; i++) {
+            content.append(i).append(",EPIC,Эпик ").append(i).append(",NEW,Описание,,,\n");
+        }
+        int total = 60_000;
+        for (int i = epics + 1; i <= total; i++) {
+            TaskCsv.append(content, new Subtask(i, "Подзадача " + i, Status.DONE,
+                    "Строка \"" + i + "\"\n,вторая строка с запятой", i % epics + 1, null, Duration.ZERO));
+            content.append('\n');
+        }
+        Files.writeString(tempFile, content);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+        assertEquals(total - epics, loaded.getSubtasks().size());
+        assertEquals(epics, loaded.getEpics().size());
+        Subtask subtask = loaded.getSubtaskById(45_678);
+        assertEquals("Строка \"45678\"\n,вторая строка с запятой", subtask.getDescription());
+        assertEquals(45_678 % epics + 1, subtask.getEpicId());
+        assertEquals(Status.DONE, loaded.getEpicById(1).getStatus());
+        assertEquals(total + 1, loaded.addNewTask(new Task("New", "Desc", Status.NEW, null, null)));
+    }
+
+    @Test
+    void shouldLoadLegacyCsvWithUnbalancedQuotes() throws IOException {
+        for (int total : List.of(3, 60_000)) {
+            StringBuilder content = new StringBuilder(TaskCsv.LEGACY_HEADER).append('\n');
+            for (int i = 1; i <= total; i++) {
+                content.append(String.join(",", String.valueOf(i), "TASK", i % 7 == 0 ? "Дюйм 5\"" : "Задача " + i,
+                        "NEW", i % 2 == 0 ? "" : "Описание", "", "", "")).append('\n');
+            }
+            Files.writeString(tempFile, content);
+
+            FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+
+            assertEquals(total, loaded.getTasks().size());
+            assertEquals("Задача " + total, loaded.getTaskById(total).getName());
+            assertEquals("", loaded.getTaskById(2).getDescription(), "Пустое описание старого файла - пустая строка");
+            if (total > 7) {
+                assertEquals("Дюйм 5\"", loaded.getTaskById(7).getName());
+            }
+        }
+    }
+
+    @Test
+    void shouldConvertSnapshotBetweenCsvAndBinary() throws IOException {
+        manager.addNewTask(new Task("Task", "Desc, \"quoted\"", Status.IN_PROGRESS,
+                LocalDateTime.of(2025, 5, 1, 9, 0), Duration.ofMinutes(30)));
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, null));
+        manager.addNewSubtask(new Subtask("Sub", "Desc", Status.NEW, epicId, null, null));
+        String csv = Files.readString(tempFile);
+        Path binaryFile = tempFile.resolveSibling(tempFile.getFileName() + ".bin");
+
+        try {
+            SnapshotConverter.convert(tempFile, binaryFile, SnapshotFormat.BINARY);
+            assertTrue(TaskBinary.isBinary(Files.readAllBytes(binaryFile)));
+            SnapshotConverter.convert(binaryFile, tempFile, SnapshotFormat.CSV);
+        } finally {
+            Files.deleteIfExists(binaryFile);
+        }
+
+        assertEquals(csv, Files.readString(tempFile));
+    }
+
+    @Test
+    void shouldIgnoreTornLastJournalRecord() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            journaled.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+        }
+        Files.writeString(journalFile, "PUT,2,TA", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+        assertEquals(1, loaded.getTasks().size(), "Недописанная последняя запись журнала должна игнорироваться");
+        assertFalse(Files.exists(journalFile), "После загрузки без журнала файл должен быть сохранён целиком");
+        assertEquals(2, Files.readString(tempFile, StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void shouldNotApplyUnterminatedLastRecordEvenIfItParses() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            journaled.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+        }
+        //обрыв записи DELETE_TASK,12 после первой цифры
+        Files.writeString(journalFile, "DELETE_TASK,1", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals(1, FileBackedTaskManager.loadFromFile(tempFile.toFile()).getTasks().size(),
+                "Запись без перевода строки в конце не должна применяться");
+    }
+
+    @Test
+    void shouldNotOverwriteExistingDataWhenCreatingJournal() throws IOException {
+        manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+        String saved = Files.readString(tempFile, StandardCharsets.UTF_8);
+
+        assertThrows(ManagerSaveException.class, () -> Managers.getDefaultSaving(tempFile, FsyncPolicy.NEVER));
+        assertEquals(saved, Files.readString(tempFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldCompactJournalIntoSnapshot() throws Exception {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            journaled.addNewTask(new Task("First", "Desc", Status.NEW, null, null));
+            journaled.addNewTask(new Task("Second", "Desc", Status.NEW, null, null));
+            journaled.compact().get(5, TimeUnit.SECONDS);
+
+            assertEquals(3, Files.readString(tempFile, StandardCharsets.UTF_8).split("\n").length,
+                    "Снимок должен содержать заголовок и все задачи");
+            assertEquals(0, Files.size(journalFile), "После сжатия журнал должен быть пустым");
+            assertFalse(Files.exists(compactingJournalFile));
+
+            journaled.addNewTask(new Task("Third", "Desc", Status.NEW, null, null));
+        }
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+        assertEquals(3, loaded.getTasks().size(), "Записи после сжатия должны применяться поверх нового снимка");
+    }
+
+    @Test
+    void shouldCompactAfterConfiguredNumberOfRecords() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.NEVER)) {
+            journaled.enableCompaction(null, 2);
+            journaled.addNewTask(new Task("First", "Desc", Status.NEW, null, null));
+            journaled.addNewTask(new Task("Second", "Desc", Status.NEW, null, null));
+        }
+
+        assertEquals(3, Files.readString(tempFile, StandardCharsets.UTF_8).split("\n").length,
+                "Сжатие должно запускаться после заданного числа записей");
+        assertEquals(0, Files.size(journalFile));
+    }
+
+    @Test
+    void shouldDeferSnapshotWritesUntilFlush() throws Exception {
+        manager.enableGroupCommit(Duration.ofMinutes(1), 0);
+        for (int i = 0; i < 1_000; i++) {
+            manager.addNewTask(new Task("Task " + i, "Desc", Status.NEW, null, null));
+        }
+
+        assertEquals(0, Files.size(tempFile), "До сброса изменения не должны писаться на диск");
+        manager.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1_000, FileBackedTaskManager.loadFromFile(tempFile.toFile()).getTasks().size());
+        assertTrue(manager.flush().isDone(), "Без новых изменений сброс не нужен");
+    }
+
+    @Test
+    void shouldFlushGroupAfterMaxMutationsAndOnClose() throws Exception {
+        manager.enableGroupCommit(Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 10; i++) {
+            manager.addNewTask(new Task("Task " + i, "Desc", Status.NEW, null, null));
+        }
+        CompletableFuture<Void> written = manager.flush();
+        manager.addNewTask(new Task("Last", "Desc", Status.NEW, null, null));
+
+        written.get(5, TimeUnit.SECONDS);
+        manager.close();
+
+        assertEquals(11, FileBackedTaskManager.loadFromFile(tempFile.toFile()).getTasks().size(),
+                "Несохранённые изменения должны записываться при закрытии");
+    }
+
+    @Test
+    void shouldWriteGroupWithoutFlushAfterMaxMutations() throws Exception {
+        manager.enableGroupCommit(Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 10; i++) {
+            manager.addNewTask(new Task("Task " + i, "Desc", Status.NEW, null, null));
+        }
+
+        awaitSavedTasks(10);
+    }
+
+    @Test
+    void shouldWriteGroupWithoutFlushAfterMaxDelay() throws Exception {
+        manager.enableGroupCommit(Duration.ofMillis(50), 0);
+        manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+
+        awaitSavedTasks(1);
+    }
+
+    @Test
+    void shouldRetryFailedGroupWrite() throws Exception {
+        Path blocker = tempFile.resolveSibling(tempFile.getFileName() + ".tmp");
+        Files.createDirectory(blocker);
+        try {
+            manager.enableGroupCommit(Duration.ofMinutes(1), 0);
+            manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+            CompletableFuture<Void> failed = manager.flush();
+            assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        } finally {
+            Files.delete(blocker);
+        }
+
+        awaitSavedTasks(1);
+    }
+
+    @Test
+    void shouldSaveChangesMadeAfterClose() throws Exception {
+        manager.enableGroupCommit(Duration.ofMinutes(1), 0);
+        manager.close();
+
+        manager.addNewTask(new Task("Late", "Desc", Status.NEW, null, null));
+
+        assertEquals(1, FileBackedTaskManager.loadFromFile(tempFile.toFile()).getTasks().size(),
+                "После закрытия изменения должны сохраняться сразу");
+    }
+
+    @Test
+    void shouldRejectGroupCommitInJournalMode() {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.NEVER)) {
+            assertThrows(IllegalStateException.class, () -> journaled.enableGroupCommit(Duration.ofMillis(10), 0));
+        }
+    }
+
+    @Test
+    void shouldReplayJournalOfInterruptedCompaction() throws IOException {
+        try (FileBackedTaskManager journaled = Managers.getDefaultSaving(tempFile, FsyncPolicy.ALWAYS)) {
+            journaled.addNewTask(new Task("Task", "Desc", Status.NEW, null, null));
+        }
+        Files.move(journalFile, compactingJournalFile);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+        assertEquals(1, loaded.getTasks().size(), "Журнал прерванного сжатия должен применяться при загрузке");
+        assertFalse(Files.exists(compactingJournalFile));
+    }
+
+    @Test
+    void shouldReplayCompactedJournalAgainOverNewSnapshot() throws IOException {
+        //сбой после замены снимка, но до удаления журнала сжатия: эпик 1 был в старом снимке,
+        //а в новом его уже нет, потому что журнал удаляет его после изменения подзадачи
+        Files.writeString(tempFile, String.join("\n",
+                "id,type,name,status,description,epic,startTime,duration",
+                "3,TASK,Task,NEW,Desc,,,",
+                ""));
+        Files.writeString(compactingJournalFile, String.join("\n",
+                "PUT,2,SUBTASK,Sub,DONE,Desc,1,,",
+                "DELETE_EPIC,1",
+                "PUT,3,TASK,Task,NEW,Desc,,,",
+                ""));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile.toFile());
+        assertEquals(1, loaded.getTasks().size());
+        assertTrue(loaded.getEpics().isEmpty());
+        assertTrue(loaded.getSubtasks().isEmpty());
+        assertFalse(Files.exists(compactingJournalFile));
+    }
+
+    @Test
+    void shouldNotAllowCompactionWithoutJournal() {
+        assertThrows(IllegalStateException.class, () -> manager.compact());
+    }
+
+    //ждёт, пока фоновая запись положит в файл expected задач, не вызывая flush()
+    private static void awaitSavedTasks(int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int saved = -1;
+        while (System.nanoTime() < deadline) {
+            List<String> lines = Files.readAllLines(tempFile, StandardCharsets.UTF_8);
+            saved = Math.max(0, lines.size() - 1);
+            if (saved == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(expected, saved, "Изменения должны записываться фоном без flush()");
+    }
+}
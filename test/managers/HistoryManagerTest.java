@@ -7,6 +7,8 @@ import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskSnapshot;
+import model.TaskType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +36,7 @@ class HistoryManagerTest {
         taskManager.addNewEpic(task1);
         Subtask otherTask = new Subtask("na", "desc", Status.IN_PROGRESS, task1.getId(), LocalDateTime.MIN, Duration.ZERO);
         taskManager.addNewSubtask(otherTask);
-        final List<Task> history = historyManager.getHistory();
+        final List<TaskSnapshot> history = historyManager.getHistory();
 
         Assertions.assertEquals(0, history.size(), "История не должна быть пустой.");
     }
@@ -50,7 +52,7 @@ class HistoryManagerTest {
         Subtask otherTask = new Subtask("na", "desc", Status.IN_PROGRESS, task1.getId(), LocalDateTime.MIN, Duration.ZERO);
         otherTask.setId(6);
         historyManager.add(otherTask);
-        final List<Task> history = historyManager.getHistory();
+        final List<TaskSnapshot> history = historyManager.getHistory();
 
         Assertions.assertNotNull(history, "История не должна быть пустой.");
         Assertions.assertEquals(3, history.size(), "История не должна быть пустой.");
@@ -66,16 +68,15 @@ class HistoryManagerTest {
         task.setDescription("give");
         task.setStatus(Status.IN_PROGRESS);
 
-        List<Task> history = historyManager.getHistory();
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertEquals(1, history.size(), "История должна содержать одну задачу");
 
-        Task savedTask = history.getFirst();
-        Assertions.assertEquals(task, savedTask, "Задача должна оставать той же при сравнении через equals");
-        //сравнение по id должно показать что задача одна и та же
+        TaskSnapshot savedTask = history.getFirst();
+        Assertions.assertEquals(task.getId(), savedTask.id(), "В истории должна быть та же задача");
 
-        Assertions.assertEquals("Call mommy", savedTask.getName(), "Название задачи в истории не должно измениться");
-        Assertions.assertEquals("give a call", savedTask.getDescription(), "Описание задачи в истории не должно измениться");
-        Assertions.assertEquals(Status.NEW, savedTask.getStatus(), "Статус задачи в истории не должен измениться");
+        Assertions.assertEquals("Call mommy", savedTask.name(), "Название задачи в истории не должно измениться");
+        Assertions.assertEquals("give a call", savedTask.description(), "Описание задачи в истории не должно измениться");
+        Assertions.assertEquals(Status.NEW, savedTask.status(), "Статус задачи в истории не должен измениться");
     }
 
     @Test
@@ -87,10 +88,10 @@ class HistoryManagerTest {
 
         historyManager.add(task2);
         historyManager.add(task1);
-        List<Task> history = new ArrayList<>(historyManager.getHistory());
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertEquals(2, history.size(), "Размер списка должен быть равен количеству задач в истории");
-        Assertions.assertEquals(task1, history.get(1), "Задачи должны храниться в истории в порядке добавления");
-        Assertions.assertEquals(task2, history.get(0), "Задачи должны храниться в истории в порядке добавления");
+        Assertions.assertEquals(task1.getId(), history.get(1).id(), "Задачи должны храниться в истории в порядке добавления");
+        Assertions.assertEquals(task2.getId(), history.get(0).id(), "Задачи должны храниться в истории в порядке добавления");
     }
 
     @Test
@@ -121,10 +122,10 @@ class HistoryManagerTest {
 
         historyManager.remove(2);
 
-        List<Task> history = historyManager.getHistory();
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertEquals(2, history.size());
-        Assertions.assertEquals(task1, history.get(0));
-        Assertions.assertEquals(task3, history.get(1));
+        Assertions.assertEquals(task1.getId(), history.get(0).id());
+        Assertions.assertEquals(task3.getId(), history.get(1).id());
     }
 
     @Test
@@ -141,10 +142,10 @@ class HistoryManagerTest {
 
         historyManager.remove(3);
 
-        List<Task> history = historyManager.getHistory();
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertEquals(2, history.size());
-        Assertions.assertEquals(task1, history.get(0));
-        Assertions.assertEquals(task2, history.get(1));
+        Assertions.assertEquals(task1.getId(), history.get(0).id());
+        Assertions.assertEquals(task2.getId(), history.get(1).id());
     }
 
     @Test
@@ -161,9 +162,72 @@ class HistoryManagerTest {
 
         historyManager.remove(1);
 
-        List<Task> history = historyManager.getHistory();
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertEquals(2, history.size());
-        Assertions.assertEquals(task2, history.get(0));
-        Assertions.assertEquals(task3, history.get(1));
+        Assertions.assertEquals(task2.getId(), history.get(0).id());
+        Assertions.assertEquals(task3.getId(), history.get(1).id());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldEvictLeastRecentlyViewedTaskWhenCapacityReached() {
+        HistoryManager boundedHistory = Managers.getDefaultHistory(2);
+        Task task1 = new Task(1, "task", Status.NEW, "Task 1", TaskType.TASK, null, Duration.ZERO);
+        Task task2 = new Task(2, "task", Status.NEW, "Task 2", TaskType.TASK, null, Duration.ZERO);
+        Task task3 = new Task(3, "task", Status.NEW, "Task 3", TaskType.TASK, null, Duration.ZERO);
+        boundedHistory.add(task1);
+        boundedHistory.add(task2);
+        boundedHistory.add(task1);
+
+        boundedHistory.add(task3);
+
+        Assertions.assertEquals(List.of(1, 3), boundedHistory.getHistory().stream().map(TaskSnapshot::id).toList(),
+                "Должна быть вытеснена задача, которую дольше всех не просматривали");
+        Assertions.assertEquals(1, boundedHistory.getEvictionCount());
+        Assertions.assertEquals(2, boundedHistory.getCapacity());
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(0));
+    }
+
+    @Test
+    void shouldKeepTypeOfViewedTasks() {
+        Epic epic = new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO);
+        int epicId = taskManager.addNewEpic(epic);
+        Subtask subtask = new Subtask("Subtask", "Desc", Status.DONE, epicId,
+                LocalDateTime.of(2025, 5, 1, 10, 0), Duration.ofMinutes(30));
+        taskManager.addNewSubtask(subtask);
+
+        taskManager.getEpicById(epicId);
+        taskManager.getSubtaskById(subtask.getId());
+        List<TaskSnapshot> history = taskManager.getHistory();
+
+        TaskSnapshot viewedEpic = history.get(0);
+        TaskSnapshot viewedSubtask = history.get(1);
+        Assertions.assertEquals(TaskType.EPIC, viewedEpic.type());
+        Assertions.assertEquals(TaskType.SUBTASK, viewedSubtask.type());
+        Assertions.assertEquals(epicId, viewedSubtask.epicId());
+        Assertions.assertEquals(subtask.getEndTime(), viewedEpic.endTime(), "Время эпика должно сохраниться в истории");
+        Assertions.assertSame(viewedSubtask, taskManager.getHistory().get(1), "Чтение истории не должно копировать снимки");
+    }
+
+    @Test
+    void shouldReadRecentViewsWithoutCopyingHistory() {
+        Task task1 = new Task(1, "task", Status.NEW, "Task 1", TaskType.TASK, null, Duration.ZERO);
+        Task task2 = new Task(2, "task", Status.NEW, "Task 2", TaskType.TASK, null, Duration.ZERO);
+        Task task3 = new Task(3, "task", Status.NEW, "Task 3", TaskType.TASK, null, Duration.ZERO);
+        historyManager.add(task1);
+        historyManager.add(task2);
+        historyManager.add(task3);
+
+        List<Integer> visited = new ArrayList<>();
+        historyManager.forEach(snapshot -> visited.add(snapshot.id()));
+        List<TaskSnapshot> recent = historyManager.recent(2);
+
+        Assertions.assertEquals(List.of(1, 2, 3), visited);
+        Assertions.assertEquals(List.of(2, 3), recent.stream().map(TaskSnapshot::id).toList());
+        Assertions.assertEquals(3, historyManager.recent(10).size());
+        Assertions.assertEquals("Task 3", recent.getLast().description());
+    }
+}
@@ -1,20 +1,23 @@
 package managers;
 
+import manager.BatchOperation;
+import manager.BatchResult;
 import manager.InMemoryTaskManager;
 import manager.Managers;
 import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
@@ -30,15 +33,43 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
     }
 
     @Test
-    public void shouldThrowAnExceptionIfAddEpicInSameEpicAsSubtask() {
+    public void shouldGiveNewIdToSubtaskSentWithIdOfItsEpic() {
         Epic task = new Epic("name", "description", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
         int epicId = manager.addNewEpic(task);
         Subtask otherTask = new Subtask("na", "desc", Status.IN_PROGRESS, task.getId(), LocalDateTime.MIN, Duration.ZERO);
         otherTask.setId(epicId);
-        assertThrows(IllegalArgumentException.class, () -> manager.addNewSubtask(otherTask),
-                "Попытка добавить эпик в самого себя в виде подзадачи должна вызывать исключение");
+        int subtaskId = manager.addNewSubtask(otherTask);
+        Assertions.assertNotEquals(epicId, subtaskId, "Подзадача не может получить id своего эпика");
         Epic savedEpic = manager.getEpicById(epicId);
-        Assertions.assertTrue(savedEpic.getSubtasks().isEmpty(), "Список подзадач эпика должен остаться пустым");
+        assertEquals(List.of(subtaskId), savedEpic.getSubtasks().stream().map(Subtask::getId).toList());
+    }
+
+    @Test
+    public void shouldRollBackRemainingOperationsWhenOneUndoFails() {
+        manager = new InMemoryTaskManager() {
+            @Override
+            protected void restore(Task task) {
+                if (task.getName().equals("Broken")) {
+                    throw new IllegalStateException("Сбой отката");
+                }
+                super.restore(task);
+            }
+        };
+        int firstId = manager.addNewTask(new Task("First", "Desc", Status.NEW, null, Duration.ZERO));
+        int brokenId = manager.addNewTask(new Task("Broken", "Desc", Status.NEW, null, Duration.ZERO));
+        Task first = new Task(firstId, "First renamed", Status.DONE, "Desc", TaskType.TASK, null, Duration.ZERO);
+        Task broken = new Task(brokenId, "Broken renamed", Status.DONE, "Desc", TaskType.TASK, null, Duration.ZERO);
+
+        List<BatchResult> results = manager.applyBatch(List.of(
+                BatchOperation.update(first),
+                BatchOperation.update(broken),
+                BatchOperation.delete(TaskType.TASK, brokenId + 100)));
+
+        assertEquals(List.of(BatchResult.Outcome.ROLLED_BACK, BatchResult.Outcome.ROLLBACK_FAILED,
+                BatchResult.Outcome.FAILED), results.stream().map(BatchResult::outcome).toList());
+        assertEquals("Сбой отката", results.get(1).error());
+        assertEquals("First", manager.getTaskById(firstId).getName(), "Остальные операции должны откатиться");
+        assertEquals("Broken renamed", manager.getTaskById(brokenId).getName());
     }
 
     @Test
@@ -59,6 +90,18 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
         assertEquals(taskWithGeneratedId, savedTaskWithGeneratedId, "Задача со сгенерированным id должна совпадать с сохранённой");
     }
 
+    @Test
+    public void shouldGenerateIdForSubtaskWithAssignedId() {
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask subtask = new Subtask("Sub", "Desc", Status.NEW, epicId, null, Duration.ZERO);
+        subtask.setId(2_000_000_000);
+
+        int subtaskId = manager.addNewSubtask(subtask);
+
+        assertEquals(epicId + 1, subtaskId, "Присланный id подзадачи должен заменяться сгенерированным");
+        assertEquals(subtask, manager.getSubtaskById(subtaskId));
+    }
+
     @Test
     public void shouldNotChangeTaskFieldsAfterAdding() {
         Task task = new Task("Call mommy", "give a call", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
@@ -5,6 +5,7 @@ import manager.Managers;
 import manager.TaskManager;
 import model.Status;
 import model.Task;
+import model.TaskSnapshot;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -32,8 +33,22 @@ class ManagersTest {
         Assertions.assertNotNull(historyManager, "Экземпляр history.HistoryManager не должен быть null");
         Task otherTask = new Task("na", "desc", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
         historyManager.add(otherTask);
-        List<Task> history = historyManager.getHistory();
+        List<TaskSnapshot> history = historyManager.getHistory();
         Assertions.assertNotNull(history, "История не должна быть пустой");
-        Assertions.assertEquals(otherTask, history.getFirst(), "Добавленная задача должна совпадать с сохранённой в истории");
+        Assertions.assertEquals(otherTask.getId(), history.getFirst().id(), "Добавленная задача должна совпадать с сохранённой в истории");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCreateTaskManagersWithConfiguredHistoryCapacity() {
+        for (TaskManager taskManager : List.of(Managers.getDefault(2), Managers.getConcurrent(2))) {
+            for (int i = 0; i < 3; i++) {
+                taskManager.getTaskById(taskManager.addNewTask(new Task("Task", "Desc", Status.NEW, null, null)));
+            }
+
+            Assertions.assertEquals(2, taskManager.getHistoryCapacity());
+            Assertions.assertEquals(2, taskManager.getHistory().size());
+            Assertions.assertEquals(1, taskManager.getHistoryEvictionCount());
+        }
+        Assertions.assertEquals(Managers.DEFAULT_HISTORY_CAPACITY, Managers.getDefault().getHistoryCapacity());
+    }
+}
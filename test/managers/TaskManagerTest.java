@@ -1,10 +1,14 @@
 package managers;
 
+import manager.BatchOperation;
+import manager.BatchResult;
 import manager.TaskManager;
 import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskSnapshot;
+import model.TaskType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -223,4 +227,231 @@ public abstract class TaskManagerTest<T extends TaskManager> {
 
         assertThrows(IllegalStateException.class, () -> manager.addNewTask(task1), "Задача пересекается по времени с существующей");
     }
+
+    @Test
+    public void shouldNotTreatUpdatedTaskAsOverlappingWithItself() {
+        Task task = new Task("Task", "Desc", Status.NEW, LocalDateTime.of(2025, Month.APRIL, 25, 10, 0), Duration.ofMinutes(60));
+        manager.addNewTask(task);
+
+        task.setStartTime(LocalDateTime.of(2025, Month.APRIL, 25, 10, 30));
+        Assertions.assertDoesNotThrow(() -> manager.updateTask(task), "Задача не должна пересекаться сама с собой");
+
+        Task other = new Task("Other", "Desc", Status.NEW, LocalDateTime.of(2025, Month.APRIL, 25, 10, 0), Duration.ofMinutes(30));
+        Assertions.assertDoesNotThrow(() -> manager.addNewTask(other), "Освободившийся после обновления интервал должен быть доступен");
+        Task overlapping = new Task("Overlapping", "Desc", Status.NEW, LocalDateTime.of(2025, Month.APRIL, 25, 11, 0), Duration.ofMinutes(10));
+        assertThrows(IllegalStateException.class, () -> manager.addNewTask(overlapping), "Задача пересекается по времени с существующей");
+    }
+
+    @Test
+    public void shouldFreeTimeSlotsAfterDeletion() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.APRIL, 25, 10, 0);
+        Task task = new Task("Task", "Desc", Status.NEW, start, Duration.ofMinutes(60));
+        int taskId = manager.addNewTask(task);
+        Epic epic = new Epic("Epic", "Desc", Status.NEW, null, null);
+        int epicId = manager.addNewEpic(epic);
+        Subtask subtask = new Subtask("Sub", "Desc", Status.NEW, epicId, start.plusHours(1), Duration.ofMinutes(60));
+        manager.addNewSubtask(subtask);
+        manager.addNewSubtask(new Subtask("Unscheduled", "Desc", Status.NEW, epicId, null, null));
+
+        manager.deleteTaskById(taskId);
+        Assertions.assertDoesNotThrow(() -> manager.addNewTask(new Task("Task", "Desc", Status.NEW, start, Duration.ofMinutes(60))));
+
+        manager.deleteAllTasks();
+        manager.deleteSubtasksByEpicId(epicId);
+        Assertions.assertDoesNotThrow(() -> manager.addNewTask(new Task("Long", "Desc", Status.NEW, start, Duration.ofHours(3))),
+                "После удаления задач и подзадач их интервалы должны освобождаться");
+    }
+
+    @Test
+    public void shouldReturnTasksPageAfterCursor() {
+        for (int i = 0; i < 5; i++) {
+            manager.addNewTask(new Task("Task " + i, "Desc", Status.NEW, null, null));
+        }
+        Epic epic = new Epic("Epic", "Desc", Status.NEW, null, null);
+        manager.addNewEpic(epic);
+
+        List<Task> firstPage = manager.getTasksPage(0, 2);
+        List<Task> secondPage = manager.getTasksPage(firstPage.getLast().getId(), 2);
+        List<Task> lastPage = manager.getTasksPage(secondPage.getLast().getId(), 2);
+
+        assertEquals(List.of(1, 2), firstPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(3, 4), secondPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(5), lastPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(epic), manager.getEpicsPage(0, 10));
+        Assertions.assertTrue(manager.getSubtasksPage(0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnPrioritizedPageAfterStartTimeAndId() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.APRIL, 25, 10, 0);
+        Task late = new Task("Late", "Desc", Status.NEW, start.plusHours(2), Duration.ofMinutes(30));
+        Task early = new Task("Early", "Desc", Status.NEW, start, Duration.ofMinutes(30));
+        Task middle = new Task("Middle", "Desc", Status.NEW, start.plusHours(1), Duration.ofMinutes(30));
+        manager.addNewTask(late);
+        manager.addNewTask(early);
+        manager.addNewTask(middle);
+
+        List<Task> firstPage = manager.getPrioritizedTasksPage(null, 0, 2);
+        Task last = firstPage.getLast();
+        List<Task> secondPage = manager.getPrioritizedTasksPage(last.getStartTime(), last.getId(), 2);
+
+        assertEquals(List.of(early, middle), firstPage);
+        assertEquals(List.of(late), secondPage);
+    }
+
+    @Test
+    public void shouldReturnPrioritizedRangeViews() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.APRIL, 25, 10, 0);
+        Task first = new Task("First", "Desc", Status.NEW, start, Duration.ofMinutes(30));
+        Task second = new Task("Second", "Desc", Status.NEW, start.plusHours(1), Duration.ofMinutes(30));
+        Task third = new Task("Third", "Desc", Status.NEW, start.plusHours(2), Duration.ofMinutes(30));
+        manager.addNewTask(third);
+        manager.addNewTask(first);
+        manager.addNewTask(second);
+        manager.addNewTask(new Task("No time", "Desc", Status.NEW, null, null));
+
+        assertEquals(List.of(first, second, third), List.copyOf(manager.getPrioritizedView()));
+        assertEquals(List.of(first), List.copyOf(manager.prioritizedHeadUntil(start.plusHours(1))));
+        assertEquals(List.of(second, third), List.copyOf(manager.prioritizedTailFrom(start.plusHours(1))));
+        assertEquals(List.of(second), List.copyOf(manager.prioritizedBetween(start.plusMinutes(1), start.plusHours(2))));
+        assertThrows(UnsupportedOperationException.class, () -> manager.getPrioritizedView().add(first),
+                "Представление должно быть только для чтения");
+    }
+
+    @Test
+    public void updateSubtaskShouldReplaceInstanceInEpicKeepingOrder() {
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask first = new Subtask("First", "Desc", Status.NEW, epicId, null, Duration.ZERO);
+        Subtask second = new Subtask("Second", "Desc", Status.NEW, epicId, null, Duration.ZERO);
+        manager.addNewSubtask(first);
+        manager.addNewSubtask(second);
+
+        Subtask replacement = new Subtask("First updated", "Desc", Status.DONE, epicId, null, Duration.ZERO);
+        replacement.setId(first.getId());
+        manager.updateSubtask(replacement);
+
+        List<Subtask> epicSubtasks = manager.getSubtasksByEpicId(epicId);
+        assertEquals(List.of(replacement, second), epicSubtasks);
+        assertEquals("First updated", epicSubtasks.getFirst().getName(), "В эпике должен храниться новый экземпляр");
+        assertEquals(Status.DONE, epicSubtasks.getFirst().getStatus());
+        assertEquals(Status.IN_PROGRESS, manager.getEpicById(epicId).getStatus());
+    }
+
+    @Test
+    public void updateSubtaskShouldMoveItBetweenEpics() {
+        int fromId = manager.addNewEpic(new Epic("From", "Desc", Status.NEW, null, Duration.ZERO));
+        int toId = manager.addNewEpic(new Epic("To", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask subtask = new Subtask("Subtask", "Desc", Status.DONE, fromId, null, Duration.ZERO);
+        manager.addNewSubtask(subtask);
+
+        Subtask moved = new Subtask("Subtask", "Desc", Status.DONE, toId, null, Duration.ZERO);
+        moved.setId(subtask.getId());
+        manager.updateSubtask(moved);
+
+        Assertions.assertTrue(manager.getSubtasksByEpicId(fromId).isEmpty());
+        assertEquals(List.of(moved), manager.getSubtasksByEpicId(toId));
+        assertEquals(Status.NEW, manager.getEpicById(fromId).getStatus());
+        assertEquals(Status.DONE, manager.getEpicById(toId).getStatus());
+    }
+
+    @Test
+    public void shouldFindAnyEntityByIdThroughUnifiedIndex() {
+        int taskId = manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, Duration.ZERO));
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask subtask = new Subtask("Subtask", "Desc", Status.NEW, epicId, null, Duration.ZERO);
+        int subtaskId = manager.addNewSubtask(subtask);
+
+        assertEquals(TaskType.TASK, manager.getAnyById(taskId).getType());
+        assertEquals(TaskType.EPIC, manager.getAnyById(epicId).getType());
+        assertEquals(subtask, manager.getAnyById(subtaskId));
+
+        manager.deleteEpicById(epicId);
+        assertThrows(NoSuchElementException.class, () -> manager.getAnyById(subtaskId));
+        assertThrows(NoSuchElementException.class, () -> manager.getAnyById(epicId));
+        manager.deleteAllTasks();
+        assertThrows(NoSuchElementException.class, () -> manager.getAnyById(taskId));
+    }
+
+    @Test
+    public void shouldApplyBatchOfOperations() {
+        int deletedId = manager.addNewTask(new Task("Deleted", "Desc", Status.NEW, null, Duration.ZERO));
+        Epic epic = new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO);
+
+        List<BatchResult> results = manager.applyBatch(List.of(
+                BatchOperation.create(new Task("Created", "Desc", Status.NEW, null, Duration.ZERO)),
+                BatchOperation.create(epic),
+                BatchOperation.delete(TaskType.TASK, deletedId)));
+
+        Assertions.assertTrue(BatchResult.allApplied(results));
+        assertEquals(3, results.size());
+        assertEquals("Created", manager.getTaskById(results.getFirst().id()).getName());
+        assertEquals(epic.getId(), results.get(1).id());
+        Assertions.assertFalse(manager.getTasks().containsKey(deletedId));
+    }
+
+    @Test
+    public void shouldRollBackWholeBatchOnFailure() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.MAY, 1, 10, 0);
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask subtask = new Subtask("Subtask", "Desc", Status.DONE, epicId, start, Duration.ofHours(1));
+        int subtaskId = manager.addNewSubtask(subtask);
+        Task renamed = new Task("Renamed", "Desc", Status.DONE, null, Duration.ZERO);
+        int taskId = manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, Duration.ZERO));
+        renamed.setId(taskId);
+
+        List<BatchResult> results = manager.applyBatch(List.of(
+                BatchOperation.update(renamed),
+                BatchOperation.delete(TaskType.EPIC, epicId),
+                BatchOperation.create(new Task("Overlap", "Desc", Status.NEW, start, Duration.ofHours(1))),
+                BatchOperation.create(new Task("Overlap", "Desc", Status.NEW, start.plusMinutes(30), Duration.ofHours(1))),
+                BatchOperation.delete(TaskType.TASK, taskId)));
+
+        assertEquals(List.of(BatchResult.Outcome.ROLLED_BACK, BatchResult.Outcome.ROLLED_BACK,
+                        BatchResult.Outcome.ROLLED_BACK, BatchResult.Outcome.FAILED, BatchResult.Outcome.SKIPPED),
+                results.stream().map(BatchResult::outcome).toList());
+        assertEquals("Task", manager.getTaskById(taskId).getName(), "Обновление должно быть отменено");
+        assertEquals(1, manager.getTasks().size(), "Созданная в пакете задача должна быть удалена");
+        assertEquals(List.of(subtask), manager.getSubtasksByEpicId(epicId), "Удалённый эпик должен вернуться с подзадачами");
+        assertEquals(Status.DONE, manager.getEpicById(epicId).getStatus());
+        assertEquals(List.of(subtask), manager.getPrioritizedTasks());
+        assertEquals(subtask, manager.getAnyById(subtaskId));
+    }
+
+    @Test
+    public void shouldKeepHistoryWhenBatchIsRolledBack() {
+        int taskId = manager.addNewTask(new Task("Task", "Desc", Status.NEW, null, Duration.ZERO));
+        manager.getTaskById(taskId);
+
+        List<BatchResult> results = manager.applyBatch(List.of(
+                BatchOperation.delete(TaskType.TASK, taskId),
+                BatchOperation.delete(TaskType.TASK, taskId + 100)));
+
+        assertEquals(BatchResult.Outcome.ROLLED_BACK, results.getFirst().outcome());
+        assertEquals(List.of(taskId), manager.getHistory().stream().map(TaskSnapshot::id).toList(),
+                "Откат удаления должен оставить историю как была");
+    }
+
+    @Test
+    public void batchUpdateOfEpicShouldKeepItsSubtasks() {
+        LocalDateTime start = LocalDateTime.of(2025, Month.MAY, 1, 10, 0);
+        int epicId = manager.addNewEpic(new Epic("Epic", "Desc", Status.NEW, null, Duration.ZERO));
+        Subtask subtask = new Subtask("Subtask", "Desc", Status.DONE, epicId, start, Duration.ofHours(1));
+        int subtaskId = manager.addNewSubtask(subtask);
+        Epic renamed = new Epic("Renamed", "New desc", Status.NEW, null, Duration.ZERO);
+        renamed.setId(epicId);
+
+        List<BatchResult> results = manager.applyBatch(List.of(BatchOperation.update(renamed)));
+
+        Assertions.assertTrue(BatchResult.allApplied(results));
+        Epic updated = manager.getEpicById(epicId);
+        assertEquals("Renamed", updated.getName());
+        assertEquals(List.of(subtask), manager.getSubtasksByEpicId(epicId));
+        assertEquals(Status.DONE, updated.getStatus());
+        assertEquals(start, updated.getStartTime());
+
+        manager.deleteEpicById(epicId);
+        assertThrows(NoSuchElementException.class, () -> manager.getAnyById(subtaskId),
+                "Подзадачи удалённого эпика не должны оставаться без эпика");
+        Assertions.assertTrue(manager.getSubtasks().isEmpty());
+    }
 }
@@ -14,6 +14,7 @@ import java.time.Month;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EpicTest {
 
@@ -111,4 +112,54 @@ class EpicTest {
         LocalDateTime expectedEndTime = epic.getStartTime().plusHours(2);
         assertEquals(expectedEndTime, epic.getEndTime());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldShrinkTimeAndRecalculateStatusWhenSubtaskRemoved() {
+        Epic epic = new Epic("Эпик", "Описание", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
+        taskManager.addNewEpic(epic);
+        Subtask first = new Subtask("Первая", "Описание", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, Month.APRIL, 4, 12, 0), Duration.ofHours(1));
+        Subtask second = new Subtask("Вторая", "Описание", Status.NEW, epic.getId(),
+                LocalDateTime.of(2025, Month.APRIL, 4, 14, 0), Duration.ofHours(1));
+        taskManager.addNewSubtask(first);
+        taskManager.addNewSubtask(second);
+        assertEquals(Status.IN_PROGRESS, epic.getStatus());
+
+        taskManager.deleteSubtaskById(second.getId());
+
+        assertEquals(Status.DONE, epic.getStatus());
+        assertEquals(LocalDateTime.of(2025, Month.APRIL, 4, 13, 0), epic.getEndTime());
+        assertEquals(Duration.ofHours(1), epic.getDuration());
+    }
+
+    @Test
+    void shouldRecalculateStatusWhenSubtaskChangedInPlace() {
+        Epic epic = new Epic("Эпик", "Описание", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
+        taskManager.addNewEpic(epic);
+        Subtask subtask = new Subtask("Подзадача", "Описание", Status.NEW, epic.getId(), null, Duration.ZERO);
+        taskManager.addNewSubtask(subtask);
+
+        subtask.setStatus(Status.DONE);
+        taskManager.updateSubtask(subtask);
+        assertEquals(Status.DONE, epic.getStatus());
+
+        subtask.setStatus(Status.IN_PROGRESS);
+        taskManager.updateSubtask(subtask);
+        assertEquals(Status.IN_PROGRESS, epic.getStatus());
+    }
+
+    @Test
+    void shouldResetEpicWhenAllSubtasksDeleted() {
+        Epic epic = new Epic("Эпик", "Описание", Status.NEW, LocalDateTime.MIN, Duration.ZERO);
+        taskManager.addNewEpic(epic);
+        taskManager.addNewSubtask(new Subtask("Подзадача", "Описание", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, Month.APRIL, 4, 12, 0), Duration.ofHours(1)));
+
+        taskManager.deleteAllSubtasks();
+
+        assertEquals(Status.NEW, epic.getStatus());
+        assertTrue(epic.getSubtasks().isEmpty());
+        assertNull(epic.getStartTime());
+        assertNull(epic.getEndTime());
+    }
+}
@@ -0,0 +1,84 @@
+package models;
+
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import model.TaskBinary;
+import model.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskBinaryTest {
+
+    @Test
+    void shouldRoundTripAllFields() {
+        Task task = new Task(300, "Имя, с запятой", Status.DONE, null, TaskType.TASK,
+                LocalDateTime.of(1969, 12, 31, 23, 59, 30, 5), Duration.ofMinutes(-15));
+        Subtask subtask = new Subtask(70_000, "Sub", Status.IN_PROGRESS, "Desc\nline", 1,
+                LocalDateTime.of(2025, 5, 1, 10, 0), Duration.ofMinutes(90));
+        Epic epic = new Epic("Epic", "", Status.NEW, null, Duration.ZERO);
+        epic.setId(1);
+        epic.setType(TaskType.EPIC);
+        TaskBinary.Writer writer = new TaskBinary.Writer();
+        writer.write(task);
+        writer.write(subtask);
+        writer.write(epic);
+        byte[] content = writer.toByteArray();
+
+        TaskBinary.Reader reader = new TaskBinary.Reader(ByteBuffer.wrap(content));
+        Task readTask = reader.next();
+        Subtask readSubtask = (Subtask) reader.next();
+        Task readEpic = reader.next();
+
+        assertTrue(TaskBinary.isBinary(content));
+        assertEquals(300, readTask.getId());
+        assertEquals(task.getName(), readTask.getName());
+        assertNull(readTask.getDescription());
+        assertEquals(task.getStartTime(), readTask.getStartTime());
+        assertEquals(task.getDuration(), readTask.getDuration());
+        assertEquals(1, readSubtask.getEpicId());
+        assertEquals(subtask.getDescription(), readSubtask.getDescription());
+        assertEquals(subtask.getStartTime(), readSubtask.getStartTime());
+        assertEquals(Status.IN_PROGRESS, readSubtask.getStatus());
+        assertInstanceOf(Epic.class, readEpic);
+        assertEquals("", readEpic.getDescription());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldReadFromDirectBuffer() {
+        TaskBinary.Writer writer = new TaskBinary.Writer();
+        writer.write(new Task(5, "Имя", Status.NEW, "Описание", TaskType.TASK, null, Duration.ZERO));
+        byte[] content = writer.toByteArray();
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length).put(content).flip();
+
+        Task task = new TaskBinary.Reader(direct).next();
+
+        assertEquals("Имя", task.getName());
+        assertEquals("Описание", task.getDescription());
+    }
+
+    @Test
+    void shouldRejectUnknownVersionAndTruncatedRecords() {
+        TaskBinary.Writer writer = new TaskBinary.Writer();
+        writer.write(new Task(5, "Имя", Status.NEW, "Описание", TaskType.TASK, null, Duration.ZERO));
+        byte[] content = writer.toByteArray();
+        byte[] truncated = Arrays.copyOf(content, content.length - 3);
+        content[4] = (byte) (TaskBinary.VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new TaskBinary.Reader(ByteBuffer.wrap(content)));
+        assertThrows(IllegalArgumentException.class, () -> new TaskBinary.Reader(ByteBuffer.wrap(truncated)).next());
+    }
+}
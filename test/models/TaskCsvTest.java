@@ -0,0 +1,98 @@
+package models;
+
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import model.TaskCsv;
+import model.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskCsvTest {
+
+    @Test
+    void shouldRoundTripQuotedFields() {
+        Task task = new Task(3, "Купить, продать", Status.IN_PROGRESS, "Сказал \"да\"\nи ушёл",
+                TaskType.TASK, LocalDateTime.of(2025, 5, 1, 9, 30, 15), Duration.ofMinutes(90));
+
+        String row = TaskCsv.format(task);
+        Task parsed = TaskCsv.parse(row);
+
+        assertEquals("3,TASK,\"Купить, продать\",IN_PROGRESS,\"Сказал \"\"да\"\"\nи ушёл\",,2025-05-01T09:30:15,90", row);
+        assertEquals(task.getName(), parsed.getName());
+        assertEquals(task.getDescription(), parsed.getDescription());
+        assertEquals(task.getStatus(), parsed.getStatus());
+        assertEquals(task.getStartTime(), parsed.getStartTime());
+        assertEquals(task.getDuration(), parsed.getDuration());
+    }
+
+    @Test
+    void shouldReadSubtasksAndEpicsRecordByRecord() {
+        TaskCsv.Reader reader = new TaskCsv.Reader(TaskCsv.HEADER + "\n"
+                + "1,EPIC,Epic,NEW,Desc,,,\r\n"
+                + "\n"
+                + "2,SUBTASK,Sub,,\"a\nb\",1,2025-05-01T10:00,\n");
+
+        assertEquals(TaskCsv.HEADER, reader.nextRecord());
+        assertInstanceOf(Epic.class, reader.next());
+        Subtask subtask = (Subtask) reader.next();
+        assertEquals(1, subtask.getEpicId());
+        assertEquals(Status.NEW, subtask.getStatus(), "Пустой статус читается как NEW");
+        assertEquals("a\nb", subtask.getDescription());
+        assertEquals(Duration.ZERO, subtask.getDuration());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldReadLegacyRowsLineByLine() {
+        TaskCsv.Reader reader = new TaskCsv.Reader(TaskCsv.LEGACY_HEADER + "\n"
+                + "1,TASK,Сказал \"да,NEW,,,,\n"
+                + "2,TASK,Next,NEW,Desc,,,\n", 0, true);
+
+        assertEquals(TaskCsv.LEGACY_HEADER, reader.nextRecord());
+        Task first = reader.next();
+        assertEquals("Сказал \"да", first.getName(), "В старом файле кавычка - обычный символ");
+        assertEquals("", first.getDescription(), "Пустое описание в старом файле - пустая строка");
+        assertEquals("Next", reader.next().getName());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void shouldReadDurationLongerThanIntMinutes() {
+        Task task = new Task(1, "Name", Status.NEW, "Desc", TaskType.TASK,
+                LocalDateTime.of(2025, 5, 1, 9, 0), Duration.ofMinutes(3_000_000_000L));
+
+        assertEquals(task.getDuration(), TaskCsv.parse(TaskCsv.format(task)).getDuration());
+    }
+
+    @Test
+    void shouldRejectMalformedRows() {
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,TASK,Name,NEW,Desc,,"));
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,TASK,\"Name,NEW,Desc,,,"));
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,STORY,Name,NEW,Desc,,,"));
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("x,TASK,Name,NEW,Desc,,,"));
+        assertThrows(IllegalArgumentException.class, () -> TaskCsv.parse("1,TASK,\"abc\"junk,NEW,Desc,,,"),
+                "Символы после закрывающей кавычки не должны отбрасываться молча");
+    }
+
+    @Test
+    void shouldKeepNullAndEmptyTextDistinct() {
+        Task task = new Task(1, null, Status.NEW, "", TaskType.TASK, null, Duration.ZERO);
+
+        String row = TaskCsv.format(task);
+        Task parsed = TaskCsv.parse(row);
+
+        assertEquals("1,TASK,,NEW,\"\",,,", row);
+        assertNull(parsed.getName(), "Пустое поле без кавычек читается как null");
+        assertEquals("", parsed.getDescription(), "Пустая строка в кавычках читается как пустая строка");
+    }
+}
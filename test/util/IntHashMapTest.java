@@ -0,0 +1,44 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IntHashMapTest {
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        IntHashMap<Integer> map = new IntHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -100; key < 1_900; key++) {
+            assertEquals(expected.get(key), map.get(key), "Ключ " + key);
+        }
+    }
+
+    @Test
+    void shouldBeEmptyAfterClear() {
+        IntHashMap<String> map = new IntHashMap<>();
+        map.put(0, "zero");
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+    }
+}
@@ -0,0 +1,93 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntMapTest {
+
+    @Test
+    void shouldPutGetAndRemoveGrowingPastInitialCapacity() {
+        IntMap<String> map = new IntMap<>();
+        for (int key = 1; key <= 100; key++) {
+            assertNull(map.put(key, "v" + key));
+        }
+
+        assertEquals(100, map.size());
+        assertEquals("v42", map.get(42));
+        assertEquals("v42", map.get(Integer.valueOf(42)), "Поиск по Integer должен работать как по int");
+        assertEquals("v42", map.put(42, "new"));
+        assertEquals("new", map.remove(42));
+        assertFalse(map.containsKey(42));
+        assertNull(map.get(1000));
+        assertEquals(99, map.size());
+    }
+
+    @Test
+    void shouldIterateInKeyOrderAndSkipRemovedKeys() {
+        IntMap<String> map = new IntMap<>();
+        map.put(5, "e");
+        map.put(1, "a");
+        map.put(3, "c");
+        map.put(4, "d");
+        map.remove(4);
+
+        assertEquals(List.of(1, 3, 5), new ArrayList<>(map.keySet()));
+        assertEquals(List.of("a", "c", "e"), new ArrayList<>(map.values()));
+        List<String> after = new ArrayList<>();
+        map.valuesAfter(1).forEachRemaining(after::add);
+        assertEquals(List.of("c", "e"), after);
+        assertFalse(map.valuesAfter(Integer.MAX_VALUE).hasNext());
+    }
+
+    @Test
+    void shouldRemoveThroughIterator() {
+        IntMap<String> map = new IntMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+
+        Iterator<String> iterator = map.values().iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(2));
+    }
+
+    @Test
+    void shouldRejectNegativeKeys() {
+        IntMap<String> map = new IntMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, "a"));
+    }
+
+    @Test
+    void shouldKeepFarKeysOutOfArrayAndMoveThemInWhenItGrows() {
+        IntMap<String> map = new IntMap<>();
+        map.put(2_000_000_000, "far");
+        map.put(Integer.MAX_VALUE, "max");
+        map.put(5_000, "near");
+        map.put(1, "a");
+
+        assertEquals("far", map.get(2_000_000_000));
+        assertEquals(List.of(1, 5_000, 2_000_000_000, Integer.MAX_VALUE), new ArrayList<>(map.keySet()));
+        List<String> after = new ArrayList<>();
+        map.valuesAfter(1).forEachRemaining(after::add);
+        assertEquals(List.of("near", "far", "max"), after);
+        assertFalse(map.valuesAfter(Integer.MAX_VALUE).hasNext());
+
+        for (int key = 2; key <= 2_000; key++) {
+            map.put(key, "v" + key);
+        }
+        assertEquals("near", map.get(5_000), "Ключ должен найтись и после переноса в массив");
+        assertEquals("max", map.remove(Integer.MAX_VALUE));
+        assertEquals(2_002, map.size());
+    }
+}